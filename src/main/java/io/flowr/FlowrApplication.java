@@ -2,8 +2,10 @@ package io.flowr;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class FlowrApplication {
     public static void main(String[] args) {
         SpringApplication.run(FlowrApplication.class, args);
@@ -0,0 +1,44 @@
+package io.flowr.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the BCrypt cost factor for the current CPU.
+ * Each extra cost round doubles the work, so one measurement at the
+ * minimum cost is enough to estimate every higher cost. The chosen cost is the
+ * highest one whose estimated verification time stays within the target, and
+ * never below the minimum, however slow the host is.
+ */
+@Slf4j
+public final class BcryptCostCalibrator {
+    private static final int SAMPLES = 3;
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        String hash = BCrypt.hashpw("calibration-password", BCrypt.gensalt(minStrength));
+
+        // Warm-up run so the measurement is not dominated by class loading and JIT
+        BCrypt.checkpw("calibration-password", hash);
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.checkpw("calibration-password", hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        double estimatedMillis = best / 1_000_000.0;
+        int strength = minStrength;
+        while (strength < maxStrength && estimatedMillis * 2 <= targetMillis) {
+            estimatedMillis *= 2;
+            strength++;
+        }
+
+        log.info("BCrypt cost calibrated to {} (~{} ms per verification, target {} ms)",
+                strength, Math.round(estimatedMillis), targetMillis);
+        return strength;
+    }
+}
@@ -0,0 +1,43 @@
+package io.flowr.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * GCRA with one AtomicLong per key: the theoretical arrival time of the next
+ * request. Acquiring is a single compare-and-set, so hot keys never block and
+ * different keys never contend. Idle keys expire once their bucket would be
+ * full again, and the key count is bounded so spraying addresses cannot grow
+ * the map without limit.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+    private final Cache<String, AtomicLong> arrivals;
+
+    public InMemoryRateLimitStore(long maxKeys, Duration idleExpiry) {
+        this.arrivals = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public long tryAcquire(String key, long emissionIntervalNanos, long burstToleranceNanos) {
+        long now = System.nanoTime();
+        AtomicLong arrival = arrivals.get(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
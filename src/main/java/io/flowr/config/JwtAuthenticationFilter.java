@@ -1,6 +1,8 @@
 package io.flowr.config;
 
 import io.flowr.service.JwtService;
+import io.flowr.service.TokenRevocationService;
+import io.flowr.utils.Enums;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,21 +10,42 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Map<Enums.Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Enums.Role.class);
+
+    static {
+        for (Enums.Role role : Enums.Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private static final String ALREADY_FILTERED_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ALREADY_FILTERED_SUFFIX;
+
     private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * Constant instead of the default, which concatenates the filter name on every request
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return ALREADY_FILTERED_ATTRIBUTE;
+    }
 
     @Override
     protected void doFilterInternal(
@@ -31,56 +54,45 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
             ) throws ServletException, IOException {
 
-        String path = request.getServletPath();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
 
-        if(isPublicEndpoint(path)) {
-            filterChain.doFilter(request, response);
-            return;
-        }
-
-        if(!path.startsWith("/api/v1/")) {
+        if(!path.startsWith("/api/v1/") || RouteTable.isPublic(path)) {
             filterChain.doFilter(request, response);
             return;
         }
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
-        if(authHeader == null ||!authHeader.startsWith("Bearer ")) {
-            log.debug("Authorization header not present:{}", request.getServletPath());
+        if(authHeader == null ||!authHeader.startsWith(BEARER_PREFIX)) {
+            log.debug("Authorization header not present:{}", path);
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-
         try{
-            userEmail = jwtService.extractEmail(jwt);
+            if(SecurityContextHolder.getContext().getAuthentication() == null) {
+                JwtPrincipal principal = jwtService.verifyAuthToken(authHeader, BEARER_PREFIX.length());
 
-            if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if(jwtService.isTokenValid(jwt, userEmail)){
-                    String userId = jwtService.extractUserId(jwt);
-                    String role = jwtService.extractRole(jwt);
-                    String organizationId = jwtService.extractOrganizationId(jwt);
-
-                    List<SimpleGrantedAuthority> authorities = List.of(
-                        new SimpleGrantedAuthority("ROLE_" + role)
-                    );
+                if (tokenRevocationService.isRevoked(principal)) {
+                    log.debug("Rejected revoked token for user: {}", principal.email());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
-                    JwtAuthenticationToken authToken = new JwtAuthenticationToken(
-                        userEmail,
-                        authorities,
-                        UUID.fromString(userId),
-                        UUID.fromString(organizationId),
-                        role
-                    );
+                List<GrantedAuthority> authorities = AUTHORITIES.get(Enums.Role.valueOf(principal.role()));
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                JwtAuthenticationToken authToken = new JwtAuthenticationToken(
+                    principal.email(),
+                    authorities,
+                    principal.userId(),
+                    principal.organizationId(),
+                    principal.role()
+                );
 
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                SecurityContextHolder.getContext().setAuthentication(authToken);
 
-                    log.debug("Successfully authenticated user: {} with role: {}{}", userEmail, role, authToken);
+                if (log.isDebugEnabled()) {
+                    log.debug("Successfully authenticated user: {} with role: {}", principal.email(), principal.role());
                 }
             }
         } catch (Exception e){
@@ -89,12 +101,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-
-    private boolean isPublicEndpoint(String path) {
-        return path.startsWith("/api/v1/auth/") ||
-                path.equals("/api/v1/health") ||
-                path.startsWith("/swagger-ui") ||
-                path.startsWith("/v3/api-docs") ||
-                path.equals("/favicon.ico");
-    }
  }
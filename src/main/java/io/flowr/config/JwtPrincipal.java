@@ -0,0 +1,24 @@
+package io.flowr.config;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified auth token.
+ * Produced once per token by JwtService#verifyAuthToken and reused
+ * for every request carrying the same token until it expires.
+ * tokenId is the jti, null for tokens issued before tokens carried one.
+ */
+public record JwtPrincipal(
+        String email,
+        UUID userId,
+        UUID organizationId,
+        String role,
+        UUID tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
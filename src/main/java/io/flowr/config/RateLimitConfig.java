@@ -0,0 +1,50 @@
+package io.flowr.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public RateLimitStore inMemoryRateLimitStore(RateLimitProperties properties) {
+        // A key idle for its longest period is back to a full bucket, so it can be dropped
+        Duration idleExpiry = properties.getEndpoints().values().stream()
+                .flatMap(endpoint -> Stream.of(endpoint.getPerIp(), endpoint.getPerEmail()))
+                .filter(Objects::nonNull)
+                .map(RateLimitProperties.Limit::getPeriod)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        return new InMemoryRateLimitStore(properties.getMaxKeys(), idleExpiry);
+    }
+
+    /**
+     * Registered ahead of the security filter chain so rejected requests cost as little as possible
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            RateLimitProperties properties,
+            RateLimitStore store,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry
+    ) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, store, objectMapper, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,229 @@
+package io.flowr.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.flowr.dto.common.ApiResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rejects abusive traffic to the public auth endpoints with 429 before it
+ * reaches Spring Security or AuthService. Each configured endpoint is limited
+ * per client IP and, when it takes an email in its JSON body, per email.
+ * The IP check runs first, so a rejected client costs no body parsing. Bodies
+ * of per-email routes are read whole, up to 16 KB, and larger ones are
+ * rejected with 413: otherwise padding the JSON would hide the email from the
+ * limiter while the controller still read it.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    // Decodes, drops ;params and collapses //, so /auth/%6cogin or /auth//login cannot slip past the limits
+    private static final UrlPathHelper PATH_HELPER = new UrlPathHelper();
+
+    private final RateLimitStore store;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Route> routes = new HashMap<>();
+
+    private record Route(String name, RateLimitProperties.Limit perIp, RateLimitProperties.Limit perEmail,
+                         Counter ipRejections, Counter emailRejections, Counter sizeRejections) {
+    }
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimitStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        properties.getEndpoints().forEach((name, endpoint) -> routes.put(endpoint.getPath(), new Route(
+                name,
+                endpoint.getPerIp(),
+                endpoint.getPerEmail(),
+                rejectionCounter(name, "ip", meterRegistry),
+                rejectionCounter(name, "email", meterRegistry),
+                rejectionCounter(name, "size", meterRegistry)
+        )));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !routes.containsKey(path(request));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Route route = routes.get(path(request));
+
+        if (route.perIp() != null) {
+            long wait = acquire(route.name() + ":ip:" + request.getRemoteAddr(), route.perIp());
+            if (wait > 0) {
+                route.ipRejections().increment();
+                reject(response, wait);
+                return;
+            }
+        }
+
+        if (route.perEmail() != null) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request);
+            if (!buffered.isComplete()) {
+                route.sizeRejections().increment();
+                response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Request body is too large"));
+                return;
+            }
+            String email = buffered.email(objectMapper);
+            if (email != null) {
+                long wait = acquire(route.name() + ":email:" + email, route.perEmail());
+                if (wait > 0) {
+                    route.emailRejections().increment();
+                    log.debug("Rate limited {} for {}", route.name(), email);
+                    reject(response, wait);
+                    return;
+                }
+            }
+            request = buffered;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String path(HttpServletRequest request) {
+        return PATH_HELPER.getPathWithinApplication(request);
+    }
+
+    private long acquire(String key, RateLimitProperties.Limit limit) {
+        return store.tryAcquire(key, limit.emissionIntervalNanos(), limit.burstToleranceNanos());
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, please try again later"));
+    }
+
+    private static Counter rejectionCounter(String endpoint, String key, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.ratelimit.rejected")
+                .description("Requests rejected by the auth rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the body to find the email, then replays it to the controller; only
+     * the first 16 KB and one more byte are read, to tell whether there is more
+     */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] head;
+        private final boolean complete;
+
+        BufferedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.head = request.getInputStream().readNBytes(MAX_INSPECTED_BODY_BYTES + 1);
+            this.complete = head.length <= MAX_INSPECTED_BODY_BYTES;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        String email(ObjectMapper objectMapper) {
+            if (head.length == 0) {
+                return null;
+            }
+            try {
+                JsonNode email = objectMapper.readTree(head).get("email");
+                return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+            } catch (IOException e) {
+                // Malformed bodies are rejected by the controller
+                return null;
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            return new ReplayInputStream(head);
+        }
+    }
+
+    /**
+     * Serves the buffered body
+     */
+    private static class ReplayInputStream extends ServletInputStream {
+        private final byte[] body;
+        private int position;
+
+        ReplayInputStream(byte[] body) {
+            this.body = body;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return position >= body.length;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            // The whole body is in memory, so it is available and complete right away
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public int read() {
+            return position < body.length ? body[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (position >= body.length) {
+                return -1;
+            }
+            int count = Math.min(len, body.length - position);
+            System.arraycopy(body, position, b, off, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return body.length - position;
+        }
+    }
+}
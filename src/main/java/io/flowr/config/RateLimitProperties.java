@@ -0,0 +1,46 @@
+package io.flowr.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-endpoint limits for the public auth endpoints, bound from rate-limit.*
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /** Upper bound on tracked keys (IPs and emails) of the in-memory store */
+    private long maxKeys = 100_000;
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        private String path;
+        private Limit perIp;
+        private Limit perEmail;
+    }
+
+    /**
+     * Allows a burst of capacity requests, refilled evenly over period
+     */
+    @Data
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+
+        long emissionIntervalNanos() {
+            return period.toNanos() / capacity;
+        }
+
+        long burstToleranceNanos() {
+            return emissionIntervalNanos() * (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package io.flowr.config;
+
+/**
+ * Holds rate limit state. The default keeps it in memory per node; register
+ * another bean (e.g. backed by Redis) to share limits across nodes.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token for key using GCRA.
+     *
+     * @param emissionIntervalNanos time to refill one token
+     * @param burstToleranceNanos   how far ahead of the steady rate the key may run
+     * @return 0 if allowed, otherwise nanoseconds until the next request would be
+     */
+    long tryAcquire(String key, long emissionIntervalNanos, long burstToleranceNanos);
+}
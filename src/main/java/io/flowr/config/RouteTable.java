@@ -0,0 +1,87 @@
+package io.flowr.config;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Access class of every special-cased route, compiled once.
+ * SecurityConfig builds its request matchers from these patterns and
+ * JwtAuthenticationFilter classifies paths with the same table, so the two
+ * cannot drift apart. Only exact paths and trailing "/**" patterns are allowed.
+ */
+public final class RouteTable {
+
+    public enum Access {
+        PUBLIC, ADMIN, AUTHENTICATED
+    }
+
+    private record Route(String pattern, Access access) {
+    }
+
+    private static final List<Route> ROUTES = List.of(
+            new Route("/api/v1/auth/**", Access.PUBLIC),
+            new Route("/api/v1/health", Access.PUBLIC),
+            new Route("/api/test/**", Access.PUBLIC),
+            new Route("/swagger-ui/**", Access.PUBLIC),
+            new Route("/v3/api-docs/**", Access.PUBLIC),
+            new Route("/favicon.ico", Access.PUBLIC),
+            new Route("/.well-known/**", Access.PUBLIC),
+            new Route("/api/v1/admin/**", Access.ADMIN)
+    );
+
+    private static final Map<String, Access> EXACT = new HashMap<>();
+    // "/api/v1/auth/**" is stored as "/api/v1/auth/", longest first so nested prefixes win
+    private static final String[] PREFIXES;
+    private static final Access[] PREFIX_ACCESS;
+
+    static {
+        Route[] prefixed = ROUTES.stream()
+                .filter(route -> route.pattern().endsWith("/**"))
+                .sorted(Comparator.comparingInt((Route route) -> route.pattern().length()).reversed())
+                .toArray(Route[]::new);
+        PREFIXES = new String[prefixed.length];
+        PREFIX_ACCESS = new Access[prefixed.length];
+        for (int i = 0; i < prefixed.length; i++) {
+            String base = prefixed[i].pattern().substring(0, prefixed[i].pattern().length() - 3);
+            PREFIXES[i] = base + "/";
+            PREFIX_ACCESS[i] = prefixed[i].access();
+            // "/**" also matches the bare base path
+            EXACT.putIfAbsent(base, prefixed[i].access());
+        }
+        ROUTES.stream()
+                .filter(route -> !route.pattern().endsWith("/**"))
+                .forEach(route -> EXACT.put(route.pattern(), route.access()));
+    }
+
+    private RouteTable() {
+    }
+
+    public static Access classify(String path) {
+        Access exact = EXACT.get(path);
+        if (exact != null) {
+            return exact;
+        }
+        for (int i = 0; i < PREFIXES.length; i++) {
+            if (path.startsWith(PREFIXES[i])) {
+                return PREFIX_ACCESS[i];
+            }
+        }
+        return Access.AUTHENTICATED;
+    }
+
+    public static boolean isPublic(String path) {
+        return classify(path) == Access.PUBLIC;
+    }
+
+    /**
+     * Patterns of one access class, in the form SecurityConfig#requestMatchers expects
+     */
+    public static String[] patterns(Access access) {
+        return ROUTES.stream()
+                .filter(route -> route.access() == access)
+                .map(Route::pattern)
+                .toArray(String[]::new);
+    }
+}
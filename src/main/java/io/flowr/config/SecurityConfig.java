@@ -1,6 +1,10 @@
 package io.flowr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +15,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,12 +24,14 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.List;
+import java.util.Map;
 
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity()
 @RequiredArgsConstructor
+@Slf4j
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
 
@@ -36,15 +43,12 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
 
             .authorizeHttpRequests(auth -> auth
-                    .requestMatchers(
-                            "/api/v1/auth/**",
-                            "/api/test/**",
-                            "/api/v1/health",
-                            "/swagger-ui/**",
-                            "/favicon.ico"
-                    ).permitAll()
+                    // async dispatches resume a request that was already authorized (e.g. streamed exports)
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
-                    .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
+                    .requestMatchers(RouteTable.patterns(RouteTable.Access.PUBLIC)).permitAll()
+
+                    .requestMatchers(RouteTable.patterns(RouteTable.Access.ADMIN)).hasRole("ADMIN")
 
                     .anyRequest().permitAll()
             )
@@ -73,8 +77,40 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.pool-size}") int poolSize,
+            @Value("${security.password-hashing.queue-capacity}") int queueCapacity,
+            @Value("${security.password-hashing.retry-after-seconds}") long retryAfterSeconds,
+            @Value("${security.password-hashing.bcrypt.strength}") int bcryptStrength,
+            @Value("${security.password-hashing.bcrypt.target-millis}") long targetMillis,
+            @Value("${security.password-hashing.bcrypt.min-strength}") int minStrength,
+            @Value("${security.password-hashing.bcrypt.max-strength}") int maxStrength
+    ) {
+        // Default to half the cores so hashing bursts cannot take the whole CPU
+        int threads = poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        // A slow host may not lower the cost below the floor, and neither may a configured strength
+        int strength = bcryptStrength > 0
+                ? Math.max(bcryptStrength, minStrength)
+                : BcryptCostCalibrator.calibrate(targetMillis, minStrength, Math.max(minStrength, maxStrength));
+        if (bcryptStrength > 0 && bcryptStrength < minStrength) {
+            log.warn("BCrypt strength {} is below the floor of {}, using {}", bcryptStrength, minStrength, minStrength);
+        }
+
+        // New hashes are stored as {bcrypt}...; hashes without a prefix predate this and are
+        // still verified as plain BCrypt, then rewritten on the next successful login
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(
+                delegating,
+                threads,
+                queueCapacity,
+                retryAfterSeconds,
+                meterRegistry
+        );
     }
 
     @Bean
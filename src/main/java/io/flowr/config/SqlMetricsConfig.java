@@ -0,0 +1,41 @@
+package io.flowr.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the DataSource with datasource-proxy so every statement is timed
+ * into Micrometer (flowr.sql.query). Replaces spring.jpa.show-sql, which
+ * prints each statement synchronously; enabled by flowr.sql-metrics.enabled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "flowr.sql-metrics.enabled", havingValue = "true")
+public class SqlMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${flowr.sql-metrics.max-shapes:200}") int maxShapes
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlMetricsListener(meterRegistry.getObject(), maxShapes))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
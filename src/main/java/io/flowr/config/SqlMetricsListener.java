@@ -0,0 +1,121 @@
+package io.flowr.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records every JDBC execution in a latency histogram per query shape.
+ * A shape is the statement with literals and IN-list lengths normalized away,
+ * identified by a short hash; the hash is logged with its SQL the first time
+ * it is seen. Past maxShapes distinct shapes, new ones are recorded as "other"
+ * so a query built from user input cannot blow up metric cardinality.
+ */
+@Slf4j
+public class SqlMetricsListener implements QueryExecutionListener {
+    private static final String START_NANOS = "flowr.sql.start";
+    private static final String OTHER = "other";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TABLE = Pattern.compile("\\b(?:from|into|update)\\s+([\\w.\"]+)", Pattern.CASE_INSENSITIVE);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxShapes;
+    private final Set<String> shapes = ConcurrentHashMap.newKeySet();
+
+    // Raw SQL strings are few and stable (Hibernate reuses them), so normalization runs once per string
+    private final Cache<String, Timer[]> timersBySql = Caffeine.newBuilder()
+            .maximumSize(2048)
+            .build();
+
+    public SqlMetricsListener(MeterRegistry meterRegistry, int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.maxShapes = maxShapes;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Timer[] timers = timersBySql.get(queryInfoList.get(0).getQuery(), this::registerTimers);
+        timers[execInfo.isSuccess() ? 0 : 1].record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] registerTimers(String sql) {
+        String normalized = normalize(sql);
+        String shape = String.format("%08x", normalized.hashCode());
+
+        if (!shapes.contains(shape)) {
+            if (shapes.size() >= maxShapes) {
+                shape = OTHER;
+            } else if (shapes.add(shape)) {
+                log.info("SQL shape {}: {}", shape, normalized);
+            }
+        }
+
+        String operation = OTHER.equals(shape) ? OTHER : operation(normalized);
+        String table = OTHER.equals(shape) ? OTHER : table(normalized);
+
+        return new Timer[]{
+                timer(shape, operation, table, "true"),
+                timer(shape, operation, table, "false")
+        };
+    }
+
+    private Timer timer(String shape, String operation, String table, String success) {
+        return Timer.builder("flowr.sql.query")
+                .description("JDBC execution time per query shape")
+                .tag("shape", shape)
+                .tag("operation", operation)
+                .tag("table", table)
+                .tag("success", success)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    private static String operation(String normalized) {
+        int end = normalized.indexOf(' ');
+        String keyword = (end < 0 ? normalized : normalized.substring(0, end)).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "with" -> keyword;
+            default -> OTHER;
+        };
+    }
+
+    private static String table(String normalized) {
+        Matcher matcher = TABLE.matcher(normalized);
+        return matcher.find() ? matcher.group(1).replace("\"", "").toLowerCase(Locale.ROOT) : OTHER;
+    }
+}
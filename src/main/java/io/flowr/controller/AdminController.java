@@ -5,14 +5,16 @@ import io.flowr.dto.user.ProfileDto;
 import io.flowr.dto.workflow.WorkflowDto;
 import io.flowr.service.UserService;
 import io.flowr.service.WorkflowService;
+import io.flowr.utils.SecurityUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -25,13 +27,16 @@ public class AdminController {
 
     /**
      * GET all workflows in the organization - admin only
-     * /api/v1/admin/workflows
+     * /api/v1/admin/workflows?page=0&size=50
      */
     @GetMapping("/workflows")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<ApiResponse<List<WorkflowDto.Response>>> getAllWorkflows() {
+    public ResponseEntity<ApiResponse<WorkflowDto.PageResponse>> getAllWorkflows(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
         try {
-            List<WorkflowDto.Response> workflows = workflowService.getAllWorkflows();
+            UUID organizationId = SecurityUtils.getCurrentUserOrganizationId();
+            WorkflowDto.PageResponse workflows = workflowService.getOrganizationWorkflows(organizationId, page, size);
             return ResponseEntity.ok(ApiResponse.success(workflows));
         } catch (RuntimeException e) {
             log.error("Failed to fetch all workflows: {}", e.getMessage());
@@ -40,6 +45,23 @@ public class AdminController {
         }
     }
 
+    /**
+     * Export all workflows in the organization as NDJSON - admin only
+     * /api/v1/admin/workflows/export
+     */
+    @GetMapping(value = "/workflows/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportWorkflows() {
+        UUID organizationId = SecurityUtils.getCurrentUserOrganizationId();
+
+        StreamingResponseBody body = outputStream ->
+                workflowService.exportOrganizationWorkflows(organizationId, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     /**
      * Assign/Change User Role ---> Admin only
      * PUT /api/v1/admin/users/assign-role?id=37458934jdf
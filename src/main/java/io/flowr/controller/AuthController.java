@@ -3,7 +3,9 @@ package io.flowr.controller;
 import io.flowr.dto.auth.LoginDto;
 import io.flowr.dto.auth.PasswordDto;
 import io.flowr.dto.auth.RegisterDto;
+import io.flowr.dto.auth.TokenDto;
 import io.flowr.dto.common.ApiResponse;
+import io.flowr.exception.PasswordHashingBusyException;
 import io.flowr.service.AuthService;
 import io.flowr.service.UserService;
 import jakarta.validation.Valid;
@@ -29,12 +31,49 @@ class AuthController {
         try{
             LoginDto.Response response = authService.login(request);
             return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e){
             log.error("Login failed: {}", e.getMessage());
             return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
         }
     }
 
+    /**
+     * Refresh endpoint, rotates the refresh token
+     * POST /api/v1/auth/refresh
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<TokenDto.Response>> refresh(@Valid @RequestBody TokenDto.RefreshRequest request) {
+        try {
+            TokenDto.Response response = authService.refresh(request);
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (RuntimeException e) {
+            log.error("Token refresh failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Logout endpoint, revokes the bearer token and the refresh token if given
+     * POST /api/v1/auth/logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authorization,
+            @RequestBody(required = false) TokenDto.RefreshRequest request
+    ) {
+        try {
+            authService.logout(authorization, request);
+            return ResponseEntity.ok(ApiResponse.success("Logged out successfully", null));
+        } catch (RuntimeException e) {
+            log.error("Logout failed: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * User registration endpoint
      * POST /api/v1/auth/register
@@ -44,6 +83,8 @@ class AuthController {
         try {
             RegisterDto.Response response = authService.register(request);
             return ResponseEntity.ok(ApiResponse.success("Registration successful", response));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Registration failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -77,6 +118,8 @@ class AuthController {
         try {
             authService.resetPassword(request);
             return ResponseEntity.ok(ApiResponse.success("Password reset successful", null));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Password reset failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
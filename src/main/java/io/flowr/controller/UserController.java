@@ -4,7 +4,9 @@ import io.flowr.dto.user.InviteDto;
 import io.flowr.dto.auth.PasswordDto;
 import io.flowr.dto.common.ApiResponse;
 import io.flowr.dto.user.ProfileDto;
+import io.flowr.exception.PasswordHashingBusyException;
 import io.flowr.service.UserService;
+import io.flowr.utils.ETagUtils;
 import io.flowr.utils.SecurityUtils;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +14,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -60,10 +63,19 @@ class UserController {
      * GET /api/v1/users/me
      */
     @GetMapping("/me")
-    public ResponseEntity<ApiResponse<ProfileDto.Response>> getCurrentUser() {
+    public ResponseEntity<ApiResponse<ProfileDto.Response>> getCurrentUser(WebRequest webRequest) {
         try {
-            ProfileDto.Response userInfo = userService.getCurrentUser(SecurityUtils.getCurrentUserId());
-            return ResponseEntity.ok(ApiResponse.success(userInfo));
+            UUID userId = SecurityUtils.getCurrentUserId();
+            String etag = userService.getCurrentUserETag(userId);
+            if (webRequest.checkNotModified(etag)) {
+                return ETagUtils.notModified();
+            }
+
+            ProfileDto.Response userInfo = userService.getCurrentUser(userId);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(ETagUtils.REVALIDATE)
+                    .body(ApiResponse.success(userInfo));
         } catch (RuntimeException e) {
             log.error("Failed to get current user: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -98,6 +110,8 @@ class UserController {
         try {
             userService.changePassword(request, SecurityUtils.getCurrentUserId());
             return ResponseEntity.ok(ApiResponse.success("Password changed successfully", null));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Password change failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -117,6 +131,8 @@ class UserController {
 
             InviteDto.Response response = userService.inviteUser(request);
             return ResponseEntity.ok(ApiResponse.success("Invitation successful", response));
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             log.error("Invitation failed: {}", e.getMessage());
             return ResponseEntity.badRequest()
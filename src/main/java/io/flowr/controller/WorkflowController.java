@@ -2,15 +2,29 @@ package io.flowr.controller;
 
 
 import io.flowr.dto.common.ApiResponse;
+import io.flowr.dto.workflow.WorkflowDetailsDto;
 import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.service.WorkflowDashboardService;
+import io.flowr.service.WorkflowExecutionService;
 import io.flowr.service.WorkflowService;
+import io.flowr.service.WorkflowStreamService;
+import io.flowr.utils.ETagUtils;
+import io.flowr.utils.Enums;
 import io.flowr.utils.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,18 +35,30 @@ import java.util.UUID;
 @Slf4j
 public class WorkflowController {
     private final WorkflowService workflowService;
+    private final WorkflowExecutionService workflowExecutionService;
+    private final WorkflowStreamService workflowStreamService;
+    private final WorkflowDashboardService workflowDashboardService;
 
     /**
      * GET all workflows a user is involved with(My workflow)
      * /api/v1/workflows
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<WorkflowDto.Response>>> getMyWorkflows() {
+    public ResponseEntity<ApiResponse<List<WorkflowDto.Response>>> getMyWorkflows(WebRequest webRequest) {
         UUID currentUserId = SecurityUtils.getCurrentUserId();
 
         try{
+            // Tag first: a change landing in between makes the body newer than its tag, never older
+            String etag = workflowService.getWorkflowsETag(currentUserId);
+            if (webRequest.checkNotModified(etag)) {
+                return ETagUtils.notModified();
+            }
+
             List<WorkflowDto.Response> workflows = workflowService.getWorkflowsByUserInvolvement(currentUserId);
-            return ResponseEntity.ok(ApiResponse.success(workflows));
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(ETagUtils.REVALIDATE)
+                    .body(ApiResponse.success(workflows));
         } catch (RuntimeException e) {
             log.error("Failed to fetch workflows: {}", e.getMessage());
             return ResponseEntity.badRequest()
@@ -41,4 +67,147 @@ public class WorkflowController {
 
     }
 
+    /**
+     * GET server-sent events for changes to the workflows a user is involved with
+     * /api/v1/workflows/stream
+     * Events: "workflow" with {workflowId, kind, id, status}; "resync" when changes were dropped
+     * and the client should refetch. The stream closes after workflow.stream.timeout-ms; reconnect
+     * with a current access token.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMyWorkflows() {
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+
+        try {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    // Stops nginx-style proxies from buffering the stream
+                    .header("X-Accel-Buffering", "no")
+                    .body(workflowStreamService.subscribe(currentUserId));
+        } catch (RuntimeException e) {
+            log.warn("Failed to open workflow stream: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * GET workflow counts of the current user's organization by status and priority
+     * /api/v1/workflows/dashboard
+     */
+    @GetMapping("/dashboard")
+    public ResponseEntity<ApiResponse<WorkflowDto.Dashboard>> getDashboard() {
+        UUID organizationId = SecurityUtils.getCurrentUserOrganizationId();
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(workflowDashboardService.getDashboard(organizationId)));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch workflow dashboard: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET one page of the workflows a user is involved with, newest first
+     * /api/v1/workflows/page?limit=20&cursor=xyz&status=ACTIVE&priority=HIGH
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<WorkflowDto.CursorPage>> getMyWorkflowsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Enums.WorkflowStatus status,
+            @RequestParam(required = false) Enums.Priority priority) {
+        UUID currentUserId = SecurityUtils.getCurrentUserId();
+
+        try {
+            WorkflowDto.CursorPage page = workflowService.getWorkflowsByUserInvolvement(currentUserId, cursor, limit, status, priority);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch workflow page: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET workflow details with steps and actions
+     * /api/v1/workflows/:id
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<WorkflowDetailsDto.Response>> getWorkflowDetails(@PathVariable UUID id, WebRequest webRequest) {
+        try {
+            UUID organizationId = SecurityUtils.getCurrentUserOrganizationId();
+            String etag = workflowService.getWorkflowDetailsETag(id, organizationId);
+            if (webRequest.checkNotModified(etag)) {
+                return ETagUtils.notModified();
+            }
+
+            WorkflowDetailsDto.Response workflow = workflowService.getWorkflowDetails(id, organizationId);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(ETagUtils.REVALIDATE)
+                    .body(ApiResponse.success(workflow));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch workflow details: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST start a draft workflow
+     * /api/v1/workflows/:id/start
+     */
+    @PostMapping("/{id}/start")
+    public ResponseEntity<ApiResponse<WorkflowDto.TransitionResponse>> startWorkflow(@PathVariable UUID id) {
+        try {
+            WorkflowDto.TransitionResponse response = workflowExecutionService.startWorkflow(
+                    id, SecurityUtils.getCurrentUserId(), SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (RuntimeException e) {
+            log.error("Failed to start workflow: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST complete an action of the current step
+     * /api/v1/workflows/:workflowId/steps/:stepId/actions/:actionId/complete
+     */
+    @PostMapping("/{workflowId}/steps/{stepId}/actions/{actionId}/complete")
+    public ResponseEntity<ApiResponse<WorkflowDto.TransitionResponse>> completeAction(
+            @PathVariable UUID workflowId,
+            @PathVariable UUID stepId,
+            @PathVariable UUID actionId) {
+        try {
+            WorkflowDto.TransitionResponse response = workflowExecutionService.completeAction(
+                    workflowId, stepId, actionId, SecurityUtils.getCurrentUserId(), SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (RuntimeException e) {
+            log.error("Failed to complete action: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST skip an optional action of the current step
+     * /api/v1/workflows/:workflowId/steps/:stepId/actions/:actionId/skip
+     */
+    @PostMapping("/{workflowId}/steps/{stepId}/actions/{actionId}/skip")
+    public ResponseEntity<ApiResponse<WorkflowDto.TransitionResponse>> skipAction(
+            @PathVariable UUID workflowId,
+            @PathVariable UUID stepId,
+            @PathVariable UUID actionId) {
+        try {
+            WorkflowDto.TransitionResponse response = workflowExecutionService.skipAction(
+                    workflowId, stepId, actionId, SecurityUtils.getCurrentUserId(), SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success(response));
+        } catch (RuntimeException e) {
+            log.error("Failed to skip action: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
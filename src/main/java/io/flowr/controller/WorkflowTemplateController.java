@@ -0,0 +1,96 @@
+package io.flowr.controller;
+
+import io.flowr.dto.common.ApiResponse;
+import io.flowr.dto.workflow.TemplateDto;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.service.WorkflowTemplateService;
+import io.flowr.utils.SecurityUtils;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/templates")
+@RequiredArgsConstructor
+@Slf4j
+public class WorkflowTemplateController {
+    private final WorkflowTemplateService workflowTemplateService;
+
+    /**
+     * POST create a workflow template - admins and designers
+     * /api/v1/templates
+     */
+    @PostMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'DESIGNER')")
+    public ResponseEntity<ApiResponse<TemplateDto.Response>> createTemplate(@Valid @RequestBody TemplateDto.Request request) {
+        try {
+            TemplateDto.Response template = workflowTemplateService.createTemplate(
+                    request, SecurityUtils.getCurrentUserId(), SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success("Template created", template));
+        } catch (RuntimeException e) {
+            log.error("Failed to create template: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET templates of the organization, without their structure
+     * /api/v1/templates
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<TemplateDto.Response>>> getTemplates() {
+        try {
+            List<TemplateDto.Response> templates = workflowTemplateService.getTemplates(SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success(templates));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch templates: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * GET one template with its structure
+     * /api/v1/templates/:id
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<TemplateDto.Response>> getTemplate(@PathVariable UUID id) {
+        try {
+            TemplateDto.Response template = workflowTemplateService.getTemplate(id, SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success(template));
+        } catch (RuntimeException e) {
+            log.error("Failed to fetch template: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST create a draft workflow from a template
+     * /api/v1/templates/:id/instantiate
+     */
+    @PostMapping("/{id}/instantiate")
+    public ResponseEntity<ApiResponse<WorkflowDto.Response>> instantiate(
+            @PathVariable UUID id,
+            @RequestBody(required = false) TemplateDto.InstantiateRequest request) {
+        try {
+            WorkflowDto.Response workflow = workflowTemplateService.instantiate(
+                    id,
+                    request != null ? request : new TemplateDto.InstantiateRequest(),
+                    SecurityUtils.getCurrentUserId(),
+                    SecurityUtils.getCurrentUserOrganizationId());
+            return ResponseEntity.ok(ApiResponse.success("Workflow created", workflow));
+        } catch (RuntimeException e) {
+            log.error("Failed to instantiate template: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -30,6 +30,8 @@ public class LoginDto {
     @Builder
     public static class Response {
         private String token;
+        private String refreshToken;
+        private long expiresIn;
 
         private UserInfo user;
         
@@ -0,0 +1,12 @@
+package io.flowr.dto.common;
+
+/**
+ * Row count and a checksum of the updatedAt columns behind a response.
+ * Any write to one of those rows changes the checksum, even when clocks of
+ * different nodes disagree, so it can back a strong ETag.
+ */
+public interface ChangeStampView {
+    long getCount();
+
+    String getChecksum();
+}
@@ -0,0 +1,12 @@
+package io.flowr.dto.user;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user whose auth tokens issued before tokensValidAfter are revoked
+ */
+public interface TokenWatermarkView {
+    UUID getUserId();
+    LocalDateTime getTokensValidAfter();
+}
@@ -0,0 +1,17 @@
+package io.flowr.dto.workflow;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Overdue workflow or step claimed by the escalation job, with who to notify
+ */
+public interface OverdueView {
+    UUID getId();
+    UUID getWorkflowId();
+    String getStatus();
+    LocalDateTime getDueAt();
+    String getWorkflowTitle();
+    String getStepName();
+    String getNotifyEmail();
+}
@@ -0,0 +1,63 @@
+package io.flowr.dto.workflow;
+
+import io.flowr.utils.Enums;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class TemplateDto {
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Request {
+        @NotBlank(message = "Title is required")
+        private String title;
+
+        private String description;
+
+        private Enums.Priority defaultPriority;
+
+        @Builder.Default
+        private Boolean isActive = true;
+
+        @Valid
+        @NotNull(message = "Template structure is required")
+        private TemplateStructure structure;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Response {
+        private UUID id;
+        private String title;
+        private String description;
+        private Enums.Priority defaultPriority;
+        private Boolean isActive;
+        private LocalDateTime updatedAt;
+        private TemplateStructure structure;
+    }
+
+    /**
+     * Overrides for the workflow created from a template; anything left null comes from the template
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class InstantiateRequest {
+        private String title;
+        private String description;
+        private Enums.Priority priority;
+        private LocalDateTime dueAt;
+    }
+}
@@ -0,0 +1,19 @@
+package io.flowr.dto.workflow;
+
+import io.flowr.utils.Enums;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Template row without its JSONB structure, enough to decide whether the cached parse is still current
+ */
+public interface TemplateHeaderView {
+    UUID getId();
+    String getTitle();
+    String getDescription();
+    Enums.Priority getDefaultPriority();
+    Boolean getIsActive();
+    LocalDateTime getUpdatedAt();
+    UUID getOrganizationId();
+}
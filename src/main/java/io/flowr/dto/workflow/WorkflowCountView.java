@@ -0,0 +1,10 @@
+package io.flowr.dto.workflow;
+
+/**
+ * Workflows of one organization in one status and priority; priority is '' when unset
+ */
+public interface WorkflowCountView {
+    String getStatus();
+    String getPriority();
+    long getCount();
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class WorkflowDto {
@@ -48,4 +50,67 @@ public class WorkflowDto {
         private Integer stepOrder;
         private Enums.StepStatus status;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class CursorPage {
+        private List<Response> items;
+        private String nextCursor;
+        private boolean hasMore;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class PageResponse {
+        private List<Response> items;
+        private int page;
+        private int size;
+        private long totalElements;
+        private int totalPages;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class TransitionResponse {
+        private UUID workflowId;
+        private Enums.WorkflowStatus status;
+        private LocalDateTime completedAt;
+        private WorkFlowStepSummary currentStep;
+        private UUID actionId;
+        private Enums.ActionStatus actionStatus;
+    }
+
+    /**
+     * One change pushed on /api/v1/workflows/stream: the kind, id and new status of the changed row
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ChangeEvent {
+        private UUID workflowId;
+        private Enums.WorkflowChangeKind kind;
+        private UUID id;
+        private String status;
+    }
+
+    /**
+     * Workflow counts of one organization; every status and priority is present, zero if unused
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Dashboard {
+        private long total;
+        private Map<Enums.WorkflowStatus, Long> byStatus;
+        private Map<Enums.Priority, Long> byPriority;
+        private long unprioritized;
+    }
 }
@@ -0,0 +1,11 @@
+package io.flowr.dto.workflow;
+
+import java.util.UUID;
+
+/**
+ * A user who initiated a workflow or is assigned one of its steps
+ */
+public interface WorkflowInvolvementView {
+    UUID getWorkflowId();
+    UUID getUserId();
+}
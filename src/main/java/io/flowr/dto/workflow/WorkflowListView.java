@@ -0,0 +1,44 @@
+package io.flowr.dto.workflow;
+
+import io.flowr.utils.Enums;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Flat projection of a workflow list row
+ * Selected in one statement together with the current step and initiator summaries
+ */
+public interface WorkflowListView {
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Enums.WorkflowStatus getStatus();
+
+    Enums.Priority getPriority();
+
+    LocalDateTime getStartedAt();
+
+    LocalDateTime getCompletedAt();
+
+    LocalDateTime getDueAt();
+
+    LocalDateTime getCreatedAt();
+
+    UUID getCurrentStepId();
+
+    String getCurrentStepName();
+
+    Integer getCurrentStepOrder();
+
+    Enums.StepStatus getCurrentStepStatus();
+
+    UUID getInitiatedById();
+
+    String getInitiatedByName();
+
+    String getInitiatedByEmail();
+}
@@ -0,0 +1,31 @@
+package io.flowr.entity;
+
+import io.flowr.utils.Enums;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes an {@link EntityChangedEvent} for every JPA write to a user or a
+ * template. Like {@link WorkflowChangeListener}, bulk and native updates are
+ * not seen here.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        if (entity instanceof User user && user.getId() != null) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Enums.ChangeType.USER, user.getId()));
+        } else if (entity instanceof WorkFlowTemplate template && template.getId() != null) {
+            eventPublisher.publishEvent(new EntityChangedEvent(Enums.ChangeType.TEMPLATE, template.getId()));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.flowr.entity;
+
+import io.flowr.utils.Enums;
+
+import java.util.UUID;
+
+/**
+ * A user or a template was written. Published during the flush, so it may
+ * still roll back. Workflow writes publish {@link WorkflowChangedEvent} instead.
+ */
+public record EntityChangedEvent(Enums.ChangeType type, UUID id) {
+}
@@ -0,0 +1,44 @@
+package io.flowr.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A JWT signing key pair. It signs from activatesAt until retiredAt and
+ * verifies until expiresAt, which is unset while it is still signing.
+ * privateKey holds the PKCS#8 encoding encrypted by JwtKeyRotationService.
+ */
+@Entity
+@Table(name = "jwt_signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JwtSigningKey {
+    @Id
+    @Column(length = 64)
+    private String kid;
+
+    @Column(nullable = false, length = 16)
+    private String algorithm;
+
+    @Column(nullable = false)
+    private byte[] publicKey;
+
+    @Column(nullable = false)
+    private byte[] privateKey;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime activatesAt;
+
+    private LocalDateTime retiredAt;
+
+    private LocalDateTime expiresAt;
+}
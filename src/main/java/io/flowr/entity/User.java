@@ -18,6 +18,7 @@ import java.util.UUID;
 @Builder
 @Entity
 @Data
+@EntityListeners(EntityChangeListener.class)
 @Table(name = "users")
 @NoArgsConstructor
 @AllArgsConstructor
@@ -58,6 +59,12 @@ public class User {
     @Builder.Default
     private Enums.Role role = Enums.Role.STAFF;
 
+    /**
+     * Auth tokens issued before this instant are rejected, see TokenRevocationService
+     */
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
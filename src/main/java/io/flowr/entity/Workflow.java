@@ -1,6 +1,7 @@
 package io.flowr.entity;
 
 import io.flowr.utils.Enums;
+import io.flowr.utils.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,7 +13,17 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(WorkflowChangeListener.class)
 @Table(name = "workflows")
+@NamedEntityGraph(
+        name = "Workflow.details",
+        attributeNodes = {
+                @NamedAttributeNode("initiatedBy"),
+                @NamedAttributeNode("currentStep"),
+                @NamedAttributeNode(value = "steps", subgraph = "steps")
+        },
+        subgraphs = @NamedSubgraph(name = "steps", attributeNodes = @NamedAttributeNode("assignedTo"))
+)
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,7 +32,7 @@ import java.util.UUID;
 @ToString(exclude = {"steps"})
 public class Workflow {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -48,6 +59,10 @@ public class Workflow {
     private LocalDateTime dueAt;
     private LocalDateTime completedAt;
 
+    // Written only by WorkflowEscalationService through a bulk update
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime escalatedAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -56,6 +71,10 @@ public class Workflow {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id", nullable = false)
     private Organization organization;
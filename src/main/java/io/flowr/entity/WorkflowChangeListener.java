@@ -0,0 +1,54 @@
+package io.flowr.entity;
+
+import io.flowr.utils.Enums;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Publishes a {@link WorkflowChangedEvent} for every JPA write to a workflow,
+ * a step or an action. Bulk and native updates bypass entity listeners, so
+ * they must publish the event themselves if they change anything readers see.
+ */
+@Component
+@RequiredArgsConstructor
+public class WorkflowChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        WorkflowChangedEvent event = toEvent(entity);
+        if (event != null && event.workflowId() != null) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
+    private static WorkflowChangedEvent toEvent(Object entity) {
+        if (entity instanceof Workflow workflow) {
+            return new WorkflowChangedEvent(workflow.getId(), Enums.WorkflowChangeKind.WORKFLOW, workflow.getId(), name(workflow.getStatus()));
+        }
+        if (entity instanceof WorkflowStep step) {
+            return new WorkflowChangedEvent(workflowId(step), Enums.WorkflowChangeKind.STEP, step.getId(), name(step.getStatus()));
+        }
+        if (entity instanceof WorkflowStepAction action) {
+            UUID workflowId = action.getStep() != null ? workflowId(action.getStep()) : null;
+            return new WorkflowChangedEvent(workflowId, Enums.WorkflowChangeKind.ACTION, action.getId(), name(action.getStatus()));
+        }
+        return null;
+    }
+
+    private static UUID workflowId(WorkflowStep step) {
+        return step.getWorkflow() != null ? step.getWorkflow().getId() : null;
+    }
+
+    private static String name(Enum<?> status) {
+        return status != null ? status.name() : null;
+    }
+}
@@ -0,0 +1,13 @@
+package io.flowr.entity;
+
+import io.flowr.utils.Enums;
+
+import java.util.UUID;
+
+/**
+ * A workflow, one of its steps or one of their actions was written; id and
+ * status are those of the written row. Published during the flush, so it may
+ * still roll back.
+ */
+public record WorkflowChangedEvent(UUID workflowId, Enums.WorkflowChangeKind kind, UUID id, String status) {
+}
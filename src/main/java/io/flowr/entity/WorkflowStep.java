@@ -1,6 +1,7 @@
 package io.flowr.entity;
 
 import io.flowr.utils.Enums;
+import io.flowr.utils.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -12,6 +13,7 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(WorkflowChangeListener.class)
 @Table(name = "workflow_steps")
 @Data
 @Builder
@@ -21,7 +23,7 @@ import java.util.UUID;
 @ToString(exclude = {"workflow", "stepActions"})
 public class WorkflowStep {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -43,6 +45,10 @@ public class WorkflowStep {
     private LocalDateTime dueAt;
     private LocalDateTime completedAt;
 
+    // Written only by WorkflowEscalationService through a bulk update
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime escalatedAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -51,6 +57,10 @@ public class WorkflowStep {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "step", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("actionOrder ASC")
     @Builder.Default
@@ -1,5 +1,6 @@
 package io.flowr.entity;
 import io.flowr.utils.Enums;
+import io.flowr.utils.UuidV7;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -11,6 +12,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(WorkflowChangeListener.class)
 @Table(name = "workflow_step_actions")
 @Data
 @Builder
@@ -20,7 +22,7 @@ import java.util.UUID;
 @ToString(exclude = {"step"})
 public class WorkflowStepAction {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @Column(nullable = false)
@@ -59,6 +61,10 @@ public class WorkflowStepAction {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "step_id", nullable = false)
     private WorkflowStep step;
@@ -0,0 +1,17 @@
+package io.flowr.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the password hashing pool is saturated.
+ * Mapped to 503 with a Retry-After header by GlobalExceptionHandler
+ */
+@Getter
+public class PasswordHashingBusyException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(long retryAfterSeconds) {
+        super("Server is busy, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package io.flowr.exception;
+
+/**
+ * A refresh token was presented after it had already been rotated, so it was
+ * copied. Its family is revoked; transactions must commit rather than roll
+ * back when this is thrown, or the revocation is lost.
+ */
+public class RefreshTokenReuseException extends RuntimeException {
+    public RefreshTokenReuseException() {
+        super("Refresh token has already been used, please sign in again");
+    }
+}
@@ -1,6 +1,8 @@
 package io.flowr.mapper;
 
 import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.dto.workflow.WorkflowListView;
+import io.flowr.utils.Enums;
 import io.flowr.entity.User;
 import io.flowr.entity.Workflow;
 import io.flowr.entity.WorkflowStep;
@@ -31,4 +33,32 @@ public interface WorkflowListMapper {
     default WorkflowDto.WorkFlowStepSummary mapCurrentStep(WorkflowStep currentStep) {
         return currentStep != null ? toStepSummary(currentStep) : null;
     }
-}
\ No newline at end of file
+
+    default WorkflowDto.Response fromView(WorkflowListView view) {
+        WorkflowDto.WorkFlowStepSummary currentStep = view.getCurrentStepId() == null ? null :
+                WorkflowDto.WorkFlowStepSummary.builder()
+                        .id(view.getCurrentStepId())
+                        .name(view.getCurrentStepName())
+                        .stepOrder(view.getCurrentStepOrder())
+                        .status(view.getCurrentStepStatus())
+                        .build();
+
+        return WorkflowDto.Response.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .description(view.getDescription())
+                .status(view.getStatus())
+                .isActive(view.getStatus() == Enums.WorkflowStatus.ACTIVE)
+                .priority(view.getPriority())
+                .startedAt(view.getStartedAt())
+                .completedAt(view.getCompletedAt())
+                .currentStep(currentStep)
+                .dueAt(view.getDueAt())
+                .initiatedBy(WorkflowDto.UserSummary.builder()
+                        .id(view.getInitiatedById())
+                        .name(view.getInitiatedByName())
+                        .email(view.getInitiatedByEmail())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package io.flowr.repository;
+
+import io.flowr.entity.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, UUID> {
+
+    /**
+     * Claims due pending mail. Rows locked by another dispatcher are skipped;
+     * the caller pushes nextAttemptAt out as a lease before releasing the lock.
+     */
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutboxMessage> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1
+            WHERE m.id IN :ids
+            """)
+    int lease(@Param("ids") List<UUID> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Query("""
+            UPDATE EmailOutboxMessage m
+            SET m.status = io.flowr.utils.Enums.EmailStatus.SENT, m.sentAt = :now, m.lastError = NULL
+            WHERE m.id IN :ids
+            """)
+    int markSent(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT MIN(m.createdAt) FROM EmailOutboxMessage m
+            WHERE m.status = io.flowr.utils.Enums.EmailStatus.PENDING
+            """)
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+}
@@ -0,0 +1,29 @@
+package io.flowr.repository;
+
+import io.flowr.entity.JwtSigningKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JwtSigningKeyRepository extends JpaRepository<JwtSigningKey, String> {
+
+    @Query("SELECT k FROM JwtSigningKey k WHERE k.expiresAt IS NULL OR k.expiresAt > :now ORDER BY k.activatesAt")
+    List<JwtSigningKey> findUnexpired(@Param("now") LocalDateTime now);
+
+    /**
+     * Serializes rotation across nodes; readers are not blocked
+     */
+    @Modifying
+    @Query(value = "LOCK TABLE jwt_signing_keys IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRotation();
+
+    @Modifying
+    @Query("DELETE FROM JwtSigningKey k WHERE k.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,42 @@
+package io.flowr.repository;
+
+import io.flowr.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    /**
+     * Revoking the same token twice, e.g. a repeated logout, is a no-op
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at)
+            VALUES (:jti, :userId, :expiresAt, :revokedAt)
+            ON CONFLICT (jti) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(
+            @Param("jti") UUID jti,
+            @Param("userId") UUID userId,
+            @Param("expiresAt") LocalDateTime expiresAt,
+            @Param("revokedAt") LocalDateTime revokedAt
+    );
+
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.revokedAt > :since AND t.expiresAt > :now")
+    List<UUID> findIdsRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<UUID> findUnexpiredIds(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
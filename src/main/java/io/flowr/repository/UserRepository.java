@@ -1,5 +1,7 @@
 package io.flowr.repository;
 
+import io.flowr.dto.common.ChangeStampView;
+import io.flowr.dto.user.TokenWatermarkView;
 import io.flowr.entity.User;
 import io.flowr.utils.Enums;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,6 +19,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     Optional<User> findByEmailAndIsActiveTrue(String email);
 
+    /**
+     * Active user with its organization in one query, used to fill the user cache
+     */
+    @Query("SELECT u FROM User u JOIN FETCH u.organization WHERE u.email = :email AND u.isActive = true")
+    Optional<User> fetchActiveByEmail(@Param("email") String email);
+
     Optional<User> findByEmail(String email);
 
 
@@ -43,4 +52,22 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     @Query("SELECT u FROM User u WHERE u.createdAt >= CURRENT_TIMESTAMP - :days DAY")
     List<User> findUsersCreatedInLastDays(@Param("days") int days);
-}
\ No newline at end of file
+
+    /**
+     * Users whose token watermark moved after since, for the revocation sync
+     */
+    @Query("SELECT u.id AS userId, u.tokensValidAfter AS tokensValidAfter FROM User u WHERE u.tokensValidAfter > :since")
+    List<TokenWatermarkView> findTokenWatermarksSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Change stamp of the profile returned by /users/me: the user and their organization
+     */
+    @Query(value = """
+            SELECT count(*) AS "count",
+                   CAST(COALESCE(sum(extract(epoch FROM u.updated_at) + extract(epoch FROM o.updated_at)), 0) AS varchar) AS "checksum"
+            FROM users u
+            JOIN organizations o ON o.id = u.organization_id
+            WHERE u.id = :userId
+            """, nativeQuery = true)
+    ChangeStampView findProfileStamp(@Param("userId") UUID userId);
+}
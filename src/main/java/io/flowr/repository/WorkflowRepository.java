@@ -1,25 +1,57 @@
 package io.flowr.repository;
 
+import io.flowr.dto.common.ChangeStampView;
+import io.flowr.dto.workflow.OverdueView;
+import io.flowr.dto.workflow.WorkflowCountView;
+import io.flowr.dto.workflow.WorkflowInvolvementView;
+import io.flowr.dto.workflow.WorkflowListView;
 import io.flowr.entity.Organization;
 import io.flowr.entity.User;
 import io.flowr.entity.Workflow;
 import io.flowr.utils.Enums;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
+    String LIST_VIEW_SELECT = """
+        SELECT w.id AS id, w.title AS title, w.description AS description,
+               w.status AS status, w.priority AS priority,
+               w.startedAt AS startedAt, w.completedAt AS completedAt,
+               w.dueAt AS dueAt, w.createdAt AS createdAt,
+               cs.id AS currentStepId, cs.name AS currentStepName,
+               cs.stepOrder AS currentStepOrder, cs.status AS currentStepStatus,
+               u.id AS initiatedById, u.name AS initiatedByName, u.email AS initiatedByEmail
+        FROM Workflow w
+        JOIN w.initiatedBy u
+        LEFT JOIN w.currentStep cs
+        """;
     
     Optional<Workflow> findWorkflowById(UUID id);
+
+    /**
+     * Workflow with initiator, current step and steps (with assignees) in one query.
+     * Step actions are loaded separately, see WorkflowStepRepository#fetchStepActionsByWorkflowId
+     */
+    @EntityGraph("Workflow.details")
+    @Query("SELECT w FROM Workflow w WHERE w.id = :id")
+    Optional<Workflow> findDetailsById(@Param("id") UUID id);
     
     List<Workflow> findByTitleContainingIgnoreCase(String title);
     
@@ -43,12 +75,116 @@ public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
     
     List<Workflow> findByCreatedAtBetween(LocalDateTime start, LocalDateTime end);
     
-    List<Workflow> findByDueAtBefore(LocalDateTime date);
-    
-    @Query("SELECT w FROM Workflow w WHERE w.dueAt < :now AND w.status != :completedStatus")
-    List<Workflow> findOverdueWorkflows(@Param("now") LocalDateTime now, 
-                                       @Param("completedStatus") Enums.WorkflowStatus completedStatus);
-    
+    /**
+     * Claims the next batch of overdue, not yet escalated workflows after the (dueAt, id) cursor.
+     * Rows locked by another node are skipped, so concurrent runs never claim the same workflow.
+     * The WHERE clause matches the partial index idx_workflows_overdue_scan.
+     */
+    @Query(value = """
+            SELECT w.id AS "id", w.id AS "workflowId", w.status AS "status", w.due_at AS "dueAt", w.title AS "workflowTitle",
+                   CAST(NULL AS varchar) AS "stepName", u.email AS "notifyEmail"
+            FROM workflows w
+            JOIN users u ON u.id = w.initiated_by
+            WHERE w.escalated_at IS NULL
+              AND w.status IN ('DRAFT', 'ACTIVE', 'PAUSED')
+              AND w.due_at < :now
+              AND (CAST(:afterDueAt AS timestamp) IS NULL
+                   OR (w.due_at, w.id) > (CAST(:afterDueAt AS timestamp), CAST(:afterId AS uuid)))
+            ORDER BY w.due_at, w.id
+            LIMIT :limit
+            FOR UPDATE OF w SKIP LOCKED
+            """, nativeQuery = true)
+    List<OverdueView> claimOverdueWorkflows(@Param("now") LocalDateTime now,
+                                            @Param("afterDueAt") LocalDateTime afterDueAt,
+                                            @Param("afterId") UUID afterId,
+                                            @Param("limit") int limit);
+
+    /**
+     * Bumps the version too, so an in-flight entity update cannot silently overwrite the mark
+     */
+    @Modifying
+    @Query(value = "UPDATE workflows SET escalated_at = :now, version = version + 1 WHERE id IN (:ids)", nativeQuery = true)
+    int markEscalated(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * Dashboard counts: the folded summary plus the deltas not folded yet
+     */
+    @Query(value = """
+            SELECT c.status AS status, c.priority AS priority, sum(c.count) AS count
+            FROM (
+                SELECT status, priority, count FROM workflow_status_counts WHERE organization_id = :organizationId
+                UNION ALL
+                SELECT status, priority, delta FROM workflow_status_count_deltas WHERE organization_id = :organizationId
+            ) c
+            GROUP BY c.status, c.priority
+            """, nativeQuery = true)
+    List<WorkflowCountView> findStatusCounts(@Param("organizationId") UUID organizationId);
+
+    /**
+     * Takes the transaction-scoped lock that lets one node at a time fold or reconcile the
+     * summary; false if another node holds it
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockStatusCounts(@Param("key") long key);
+
+    /**
+     * Moves up to limit of the oldest deltas into the summary in one statement, so readers
+     * never see them in both places or in neither; returns the number of summary rows touched
+     */
+    @Modifying
+    @Query(value = """
+            WITH folded AS (
+                DELETE FROM workflow_status_count_deltas
+                WHERE id IN (SELECT id FROM workflow_status_count_deltas ORDER BY id LIMIT :limit)
+                RETURNING organization_id, status, priority, delta
+            )
+            INSERT INTO workflow_status_counts (organization_id, status, priority, count)
+            SELECT organization_id, status, priority, sum(delta) FROM folded
+            GROUP BY organization_id, status, priority
+            ORDER BY organization_id, status, priority
+            ON CONFLICT (organization_id, status, priority)
+            DO UPDATE SET count = workflow_status_counts.count + EXCLUDED.count
+            """, nativeQuery = true)
+    int foldStatusCountDeltas(@Param("limit") int limit);
+
+    /**
+     * Adds the difference between the real counts and summary plus deltas wherever they
+     * disagree; returns the number of rows that drifted. Both sides are read from one
+     * snapshot and the fix is added rather than set, so concurrent writes stay counted.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO workflow_status_counts (organization_id, status, priority, count)
+            SELECT organization_id, status, priority, drift FROM (
+                SELECT organization_id, status, priority, sum(n) AS drift FROM (
+                    SELECT organization_id, status, COALESCE(priority, '') AS priority, count(*) AS n
+                    FROM workflows GROUP BY organization_id, status, COALESCE(priority, '')
+                    UNION ALL
+                    SELECT organization_id, status, priority, -count FROM workflow_status_counts
+                    UNION ALL
+                    SELECT organization_id, status, priority, -delta FROM workflow_status_count_deltas
+                ) c
+                GROUP BY organization_id, status, priority
+            ) d
+            WHERE drift <> 0
+            ORDER BY organization_id, status, priority
+            ON CONFLICT (organization_id, status, priority)
+            DO UPDATE SET count = workflow_status_counts.count + EXCLUDED.count
+            """, nativeQuery = true)
+    int reconcileStatusCounts();
+
+    @Modifying
+    @Query(value = "DELETE FROM workflow_status_counts WHERE count = 0", nativeQuery = true)
+    int deleteEmptyStatusCounts();
+
+    @Query("""
+            SELECT MIN(w.dueAt) FROM Workflow w
+            WHERE w.escalatedAt IS NULL
+            AND w.status IN (io.flowr.utils.Enums.WorkflowStatus.DRAFT, io.flowr.utils.Enums.WorkflowStatus.ACTIVE, io.flowr.utils.Enums.WorkflowStatus.PAUSED)
+            AND w.dueAt < :now
+            """)
+    Optional<LocalDateTime> findOldestUnescalatedDueAt(@Param("now") LocalDateTime now);
+
     @Query("SELECT w FROM Workflow w WHERE w.organization.id = :orgId AND w.status IN :activeStatuses")
     List<Workflow> findActiveWorkflowsByOrganization(@Param("orgId") UUID organizationId, 
                                                     @Param("activeStatuses") List<Enums.WorkflowStatus> activeStatuses);
@@ -75,4 +211,172 @@ public interface WorkflowRepository extends JpaRepository<Workflow, UUID> {
         """)
     List<Workflow> findWorkflowsByUserInvolvement(@Param("userId") UUID userId);
 
-}
\ No newline at end of file
+    /**
+     * List rows of the workflows a user initiated or is assigned a step in.
+     * Current step and initiator are joined in, so no entity is loaded.
+     */
+    @Query(LIST_VIEW_SELECT + """
+        WHERE u.id = :userId
+        OR EXISTS (
+            SELECT 1 FROM WorkflowStep ws
+            WHERE ws.workflow.id = w.id
+            AND ws.assignedTo.id = :userId
+        )
+        ORDER BY w.createdAt DESC, w.id DESC
+        """)
+    List<WorkflowListView> findListViewsByUserInvolvement(@Param("userId") UUID userId);
+
+    /**
+     * Change stamp of the rows findListViewsByUserInvolvement returns: a write to
+     * a listed workflow, its current step or its initiator changes the checksum,
+     * and a workflow joining or leaving the list changes it or the count
+     */
+    @Query(value = """
+        SELECT count(*) AS "count",
+               CAST(COALESCE(sum(extract(epoch FROM w.updated_at)), 0)
+                    + COALESCE(sum(extract(epoch FROM cs.updated_at)), 0)
+                    + COALESCE(sum(extract(epoch FROM u.updated_at)), 0) AS varchar) AS "checksum"
+        FROM workflows w
+        JOIN users u ON u.id = w.initiated_by
+        LEFT JOIN workflow_steps cs ON cs.id = w.current_step_id
+        WHERE w.initiated_by = :userId
+        OR EXISTS (
+            SELECT 1 FROM workflow_steps ws
+            WHERE ws.workflow_id = w.id
+            AND ws.assigned_to = :userId
+        )
+        """, nativeQuery = true)
+    ChangeStampView findListStampByUserInvolvement(@Param("userId") UUID userId);
+
+    /**
+     * Initiator and step assignees of each workflow, the same involvement as findListViewsByUserInvolvement
+     */
+    @Query(value = """
+        SELECT w.id AS "workflowId", w.initiated_by AS "userId"
+        FROM workflows w
+        WHERE w.id IN (:workflowIds)
+        UNION
+        SELECT s.workflow_id AS "workflowId", s.assigned_to AS "userId"
+        FROM workflow_steps s
+        WHERE s.workflow_id IN (:workflowIds)
+        AND s.assigned_to IS NOT NULL
+        """, nativeQuery = true)
+    List<WorkflowInvolvementView> findInvolvedUsers(@Param("workflowIds") Collection<UUID> workflowIds);
+
+    @Query(value = LIST_VIEW_SELECT + """
+            WHERE w.organization.id = :organizationId
+            ORDER BY w.createdAt DESC, w.id DESC
+            """,
+            countQuery = "SELECT COUNT(w) FROM Workflow w WHERE w.organization.id = :organizationId")
+    Page<WorkflowListView> findListViewsByOrganization(@Param("organizationId") UUID organizationId, Pageable pageable);
+
+    /**
+     * Streams an organization's list rows with a JDBC fetch size so the driver
+     * holds one batch at a time. Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(LIST_VIEW_SELECT + """
+            WHERE w.organization.id = :organizationId
+            ORDER BY w.createdAt DESC, w.id DESC
+            """)
+    Stream<WorkflowListView> streamListViewsByOrganization(@Param("organizationId") UUID organizationId);
+
+    /*
+     * Keyset page of "my workflows", one query per filter combination below.
+     * Each involvement branch reads its own index in (created_at, id) order from
+     * the cursor and stops after :limit rows; the outer query joins the details
+     * of at most 2 * :limit workflows. The first page passes a cursor past every
+     * row, so no predicate depends on a parameter being null.
+     */
+    String INVOLVEMENT_PAGE_SELECT = """
+        SELECT w.id AS "id", w.title AS "title", w.description AS "description",
+               w.status AS "status", w.priority AS "priority",
+               w.started_at AS "startedAt", w.completed_at AS "completedAt",
+               w.due_at AS "dueAt", w.created_at AS "createdAt",
+               cs.id AS "currentStepId", cs.name AS "currentStepName",
+               cs.step_order AS "currentStepOrder", cs.status AS "currentStepStatus",
+               u.id AS "initiatedById", u.name AS "initiatedByName", u.email AS "initiatedByEmail"
+        FROM (
+        """;
+
+    /** Reads idx_workflows_initiated_by_created_at_id, or its status variant */
+    String INITIATED_BRANCH = """
+            (SELECT c.created_at AS created_at, c.id AS id
+             FROM workflows c
+             WHERE c.initiated_by = :userId
+             AND (c.created_at, c.id) < (:cursorCreatedAt, :cursorId)
+        """;
+
+    /** Reads idx_workflow_steps_assigned_to_workflow_created_at_id; a user may hold several steps of one workflow */
+    String ASSIGNED_BRANCH = """
+            UNION
+            (SELECT DISTINCT ws.workflow_created_at AS created_at, ws.workflow_id AS id
+             FROM workflow_steps ws
+             JOIN workflows c ON c.id = ws.workflow_id
+             WHERE ws.assigned_to = :userId
+             AND (ws.workflow_created_at, ws.workflow_id) < (:cursorCreatedAt, :cursorId)
+        """;
+
+    String STATUS_FILTER = """
+             AND c.status = :status
+        """;
+
+    String PRIORITY_FILTER = """
+             AND c.priority = :priority
+        """;
+
+    String BRANCH_END = """
+             ORDER BY created_at DESC, id DESC
+             LIMIT :limit)
+        """;
+
+    String INVOLVEMENT_PAGE_END = """
+        ) p
+        JOIN workflows w ON w.id = p.id
+        JOIN users u ON u.id = w.initiated_by
+        LEFT JOIN workflow_steps cs ON cs.id = w.current_step_id
+        ORDER BY w.created_at DESC, w.id DESC
+        LIMIT :limit
+        """;
+
+    @Query(value = INVOLVEMENT_PAGE_SELECT
+            + INITIATED_BRANCH + BRANCH_END
+            + ASSIGNED_BRANCH + BRANCH_END
+            + INVOLVEMENT_PAGE_END, nativeQuery = true)
+    List<WorkflowListView> findInvolvementPage(@Param("userId") UUID userId,
+                                               @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                               @Param("cursorId") UUID cursorId,
+                                               @Param("limit") int limit);
+
+    @Query(value = INVOLVEMENT_PAGE_SELECT
+            + INITIATED_BRANCH + STATUS_FILTER + BRANCH_END
+            + ASSIGNED_BRANCH + STATUS_FILTER + BRANCH_END
+            + INVOLVEMENT_PAGE_END, nativeQuery = true)
+    List<WorkflowListView> findInvolvementPageByStatus(@Param("userId") UUID userId,
+                                                       @Param("status") String status,
+                                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                       @Param("cursorId") UUID cursorId,
+                                                       @Param("limit") int limit);
+
+    @Query(value = INVOLVEMENT_PAGE_SELECT
+            + INITIATED_BRANCH + PRIORITY_FILTER + BRANCH_END
+            + ASSIGNED_BRANCH + PRIORITY_FILTER + BRANCH_END
+            + INVOLVEMENT_PAGE_END, nativeQuery = true)
+    List<WorkflowListView> findInvolvementPageByPriority(@Param("userId") UUID userId,
+                                                         @Param("priority") String priority,
+                                                         @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                         @Param("cursorId") UUID cursorId,
+                                                         @Param("limit") int limit);
+
+    @Query(value = INVOLVEMENT_PAGE_SELECT
+            + INITIATED_BRANCH + STATUS_FILTER + PRIORITY_FILTER + BRANCH_END
+            + ASSIGNED_BRANCH + STATUS_FILTER + PRIORITY_FILTER + BRANCH_END
+            + INVOLVEMENT_PAGE_END, nativeQuery = true)
+    List<WorkflowListView> findInvolvementPageByStatusAndPriority(@Param("userId") UUID userId,
+                                                                  @Param("status") String status,
+                                                                  @Param("priority") String priority,
+                                                                  @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                                                  @Param("cursorId") UUID cursorId,
+                                                                  @Param("limit") int limit);
+
+}
@@ -4,8 +4,11 @@ import io.flowr.entity.WorkflowStepAction;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface WorkflowStepActionRepository extends JpaRepository<WorkflowStepAction, UUID> {
+
+    List<WorkflowStepAction> findByStepIdOrderByActionOrderAsc(UUID stepId);
 }
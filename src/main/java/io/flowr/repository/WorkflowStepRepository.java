@@ -1,11 +1,97 @@
 package io.flowr.repository;
 
+import io.flowr.dto.workflow.OverdueView;
 import io.flowr.entity.WorkflowStep;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WorkflowStepRepository extends JpaRepository<WorkflowStep, UUID> {
+
+    /**
+     * Initializes the actions of every step of a workflow in one query.
+     * Kept apart from the steps fetch to avoid a steps x actions cartesian product
+     */
+    @Query("""
+        SELECT s FROM WorkflowStep s
+        LEFT JOIN FETCH s.stepActions
+        WHERE s.workflow.id = :workflowId
+        """)
+    List<WorkflowStep> fetchStepActionsByWorkflowId(@Param("workflowId") UUID workflowId);
+
+    List<WorkflowStep> findByWorkflowIdOrderByStepOrderAsc(UUID workflowId);
+
+    Optional<WorkflowStep> findFirstByWorkflowIdAndStepOrderGreaterThanOrderByStepOrderAsc(UUID workflowId, Integer stepOrder);
+
+    @Query("SELECT s FROM WorkflowStep s JOIN FETCH s.workflow WHERE s.id = :id")
+    Optional<WorkflowStep> findWithWorkflowById(@Param("id") UUID id);
+
+    /**
+     * Locks the step until the end of the transaction, so that of two transactions finishing
+     * its last actions the second one decides only after the first has committed
+     */
+    @Query(value = "SELECT 1 FROM workflow_steps WHERE id = :id FOR NO KEY UPDATE", nativeQuery = true)
+    Integer lockForCompletion(@Param("id") UUID id);
+
+    /**
+     * Completes the step if it is still in progress and none of its actions is left.
+     * Only the caller that gets 1 back goes on to advance the workflow. Native, so
+     * the caller publishes the change event itself.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = """
+            UPDATE workflow_steps
+            SET status = 'COMPLETED', completed_at = :now, updated_at = :now, version = version + 1
+            WHERE id = :id
+              AND status = 'IN_PROGRESS'
+              AND NOT EXISTS (
+                  SELECT 1 FROM workflow_step_actions a
+                  WHERE a.step_id = :id AND a.status NOT IN ('COMPLETED', 'SKIPPED')
+              )
+            """, nativeQuery = true)
+    int completeIfActionsDone(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Step counterpart of WorkflowRepository#claimOverdueWorkflows; notifies the assignee, else the initiator
+     */
+    @Query(value = """
+            SELECT s.id AS "id", s.workflow_id AS "workflowId", s.status AS "status", s.due_at AS "dueAt", w.title AS "workflowTitle",
+                   s.name AS "stepName", COALESCE(a.email, u.email) AS "notifyEmail"
+            FROM workflow_steps s
+            JOIN workflows w ON w.id = s.workflow_id
+            JOIN users u ON u.id = w.initiated_by
+            LEFT JOIN users a ON a.id = s.assigned_to
+            WHERE s.escalated_at IS NULL
+              AND s.status = 'IN_PROGRESS'
+              AND s.due_at < :now
+              AND (CAST(:afterDueAt AS timestamp) IS NULL
+                   OR (s.due_at, s.id) > (CAST(:afterDueAt AS timestamp), CAST(:afterId AS uuid)))
+            ORDER BY s.due_at, s.id
+            LIMIT :limit
+            FOR UPDATE OF s SKIP LOCKED
+            """, nativeQuery = true)
+    List<OverdueView> claimOverdueSteps(@Param("now") LocalDateTime now,
+                                        @Param("afterDueAt") LocalDateTime afterDueAt,
+                                        @Param("afterId") UUID afterId,
+                                        @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE workflow_steps SET escalated_at = :now, version = version + 1 WHERE id IN (:ids)", nativeQuery = true)
+    int markEscalated(@Param("ids") List<UUID> ids, @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT MIN(s.dueAt) FROM WorkflowStep s
+            WHERE s.escalatedAt IS NULL
+            AND s.status = io.flowr.utils.Enums.StepStatus.IN_PROGRESS
+            AND s.dueAt < :now
+            """)
+    Optional<LocalDateTime> findOldestUnescalatedDueAt(@Param("now") LocalDateTime now);
 }
@@ -1,12 +1,32 @@
 package io.flowr.repository;
 
+import io.flowr.dto.workflow.TemplateHeaderView;
 import io.flowr.entity.WorkFlowTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface WorkflowTemplateRepository extends JpaRepository<WorkFlowTemplate, UUID> {
 
+    String HEADER_SELECT = """
+        SELECT t.id AS id, t.title AS title, t.description AS description,
+               t.defaultPriority AS defaultPriority, t.isActive AS isActive,
+               t.updatedAt AS updatedAt, t.organization.id AS organizationId
+        FROM WorkFlowTemplate t
+        """;
+
+    @Query(HEADER_SELECT + "WHERE t.id = :id")
+    Optional<TemplateHeaderView> findHeaderById(@Param("id") UUID id);
+
+    @Query(HEADER_SELECT + "WHERE t.organization.id = :organizationId ORDER BY t.title")
+    List<TemplateHeaderView> findHeadersByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @Query("SELECT t.templateStructure FROM WorkFlowTemplate t WHERE t.id = :id")
+    Optional<String> findStructureById(@Param("id") UUID id);
 }
@@ -1,11 +1,15 @@
 package io.flowr.service;
 
+import io.flowr.config.JwtPrincipal;
 import io.flowr.dto.user.InviteDto;
 import io.flowr.dto.auth.LoginDto;
 import io.flowr.dto.auth.PasswordDto;
 import io.flowr.dto.auth.RegisterDto;
+import io.flowr.dto.auth.TokenDto;
 import io.flowr.entity.Organization;
 import io.flowr.entity.User;
+import io.flowr.exception.PasswordHashingBusyException;
+import io.flowr.exception.RefreshTokenReuseException;
 import io.flowr.repository.OrganizationRepository;
 import io.flowr.repository.UserRepository;
 import io.flowr.utils.Enums;
@@ -28,14 +32,19 @@ import java.util.UUID;
 @Slf4j
 @Transactional
 public class AuthService {
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final UserCache userCache;
+    private final EmailService emailService;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
 
     public LoginDto.Response login(LoginDto.Request request) {
-        log.info("login request: {}", request);
         try{
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -44,33 +53,37 @@ public class AuthService {
                     )
             );
 
-            User user = userRepository.findByEmailAndIsActiveTrue(request.getEmail())
+            UserCache.CachedUser user = userCache.findActiveByEmail(request.getEmail())
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
-            if (!user.getEmailVerified()) {
+            if (!user.emailVerified()) {
                 throw new RuntimeException("Email not verified. Please check your email for verification link.");
             }
 
+            upgradePasswordHash(user, request.getPassword());
+
             String token = jwtService.generateToken(
-                    user.getEmail(),
-                    user.getId().toString(),
-                    user.getRole().name(),
-                    user.getOrganization().getId().toString()
+                    user.email(),
+                    user.id().toString(),
+                    user.role().name(),
+                    user.organizationId().toString()
             );
 
             LoginDto.Response.UserInfo userInfo = LoginDto.Response.UserInfo.builder()
-                    .id(user.getId())
-                    .name(user.getName())
-                    .email(user.getEmail())
-                    .role(user.getRole().name())
-                    .organizationId(user.getOrganization().getId())
-                    .organizationName(user.getOrganization().getName())
+                    .id(user.id())
+                    .name(user.name())
+                    .email(user.email())
+                    .role(user.role().name())
+                    .organizationId(user.organizationId())
+                    .organizationName(user.organizationName())
                     .build();
 
-            log.info("User {} logged in successfully", user.getEmail());
+            log.info("User {} logged in successfully", user.email());
 
             return LoginDto.Response.builder()
                     .token(token)
+                    .refreshToken(refreshTokenService.issue(user.id()))
+                    .expiresIn(jwtService.getAccessTokenLifetime().toSeconds())
                     .user(userInfo)
                     .build();
         } catch (AuthenticationException e){
@@ -79,6 +92,25 @@ public class AuthService {
         }
     }
 
+    /**
+     * Rewrites a stored hash that uses an outdated scheme or a lower cost than the current one.
+     * The raw password is only available at login, so this is the one place it can happen.
+     */
+    private void upgradePasswordHash(UserCache.CachedUser cachedUser, String rawPassword) {
+        if (!passwordEncoder.upgradeEncoding(cachedUser.passwordHash())) {
+            return;
+        }
+        try {
+            String passwordHash = passwordEncoder.encode(rawPassword);
+            userRepository.findById(cachedUser.id()).ifPresent(user -> user.setPasswordHash(passwordHash));
+            userCache.evict(cachedUser.email());
+            log.info("Upgraded password hash for user {}", cachedUser.id());
+        } catch (PasswordHashingBusyException e) {
+            // Not worth failing the login over; the next one will retry
+            log.debug("Skipped password hash upgrade for user {}: hashing pool busy", cachedUser.id());
+        }
+    }
+
 
     public RegisterDto.Response register(RegisterDto.Request request) {
         if (userRepository.existsByEmail(request.getEmail())) {
@@ -105,9 +137,7 @@ public class AuthService {
                 user.getId().toString()
         );
 
-        log.info("New user registered: {},{}", user.getEmail(), verificationToken);
-
-        // Send verification email
+        emailService.sendEmailVerification(user.getEmail(), verificationToken);
 
         log.info("New user registered: {}", user.getEmail());
 
@@ -137,6 +167,8 @@ public class AuthService {
 
             user.setEmailVerified(true);
             userRepository.save(user);
+            userCache.evict(user.getEmail());
+            emailService.sendWelcomeEmail(user.getEmail(), user.getName());
 
             log.info("Email verified successfully for user: {}", user.getEmail());
 
@@ -161,9 +193,9 @@ public class AuthService {
                 user.getId().toString()
         );
 
-        // Send password reset email
+        emailService.sendPasswordResetEmail(user.getEmail(), resetToken);
 
-        log.info("Password reset token generated for user: {},{}", user.getEmail(), resetToken);
+        log.info("Password reset token generated for user: {}", user.getEmail());
     }
 
 
@@ -181,10 +213,15 @@ public class AuthService {
             }
 
             user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+            tokenRevocationService.revokeAllTokens(user);
             userRepository.save(user);
+            userCache.evict(user.getEmail());
+            emailService.sendPasswordChangeNotification(user.getEmail());
 
             log.info("Password reset successfully for user: {}", user.getEmail());
 
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Password reset failed: {}", e.getMessage());
             throw new RuntimeException("Invalid or expired reset token");
@@ -205,9 +242,54 @@ public class AuthService {
                 user.getId().toString()
         );
 
-        // Send verification email
+        emailService.sendEmailVerification(user.getEmail(), verificationToken);
+
+        log.info("Email verification resent for user: {}", user.getEmail());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token.
+     * Role and organization are read again, so changes apply from the next refresh.
+     * Reuse revokes the token family, which has to be committed.
+     */
+    @Transactional(dontRollbackOn = RefreshTokenReuseException.class)
+    public TokenDto.Response refresh(TokenDto.RefreshRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        User user = userRepository.findById(rotation.userId())
+                .filter(User::getIsActive)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        String token = jwtService.generateToken(
+                user.getEmail(),
+                user.getId().toString(),
+                user.getRole().name(),
+                user.getOrganization().getId().toString()
+        );
+
+        return TokenDto.Response.builder()
+                .token(token)
+                .refreshToken(rotation.refreshToken())
+                .expiresIn(jwtService.getAccessTokenLifetime().toSeconds())
+                .build();
+    }
+
+    /**
+     * Revokes the bearer token on the request and, when given, the refresh token
+     * of the same session; other sessions of the user stay signed in
+     */
+    public void logout(String authorizationHeader, TokenDto.RefreshRequest request) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX)) {
+            throw new RuntimeException("Missing bearer token");
+        }
+
+        JwtPrincipal principal = jwtService.verifyAuthToken(authorizationHeader, BEARER_PREFIX.length());
+        tokenRevocationService.revokeToken(principal);
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(request.getRefreshToken());
+        }
 
-        log.info("Email verification resent for user: {}{}", user.getEmail(), verificationToken);
+        log.info("User {} logged out", principal.email());
     }
 
 }
@@ -0,0 +1,54 @@
+package io.flowr.service;
+
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.utils.Enums;
+
+import java.util.UUID;
+
+/**
+ * A change committed on some node. For workflows the id is the workflow's and
+ * workflowChange carries the written row; for users and templates it is null.
+ *
+ * On the wire each change is one line: "W workflowId kind rowId status",
+ * "U userId" or "T templateId", with "-" for a missing status. A line "R"
+ * carries no change and tells the receiver that the sender lost some.
+ */
+public record ChangeNotification(Enums.ChangeType type, UUID id, WorkflowChangedEvent workflowChange) {
+    static final String RESYNC_LINE = "R";
+
+    public static ChangeNotification of(WorkflowChangedEvent event) {
+        return new ChangeNotification(Enums.ChangeType.WORKFLOW, event.workflowId(), event);
+    }
+
+    public static ChangeNotification of(Enums.ChangeType type, UUID id) {
+        return new ChangeNotification(type, id, null);
+    }
+
+    /**
+     * The row this change is about, so repeated writes to one row collapse into one change
+     */
+    UUID rowId() {
+        return workflowChange != null ? workflowChange.id() : id;
+    }
+
+    String encode() {
+        return switch (type) {
+            case WORKFLOW -> "W " + id + " " + workflowChange.kind() + " " + workflowChange.id() + " "
+                    + (workflowChange.status() != null ? workflowChange.status() : "-");
+            case USER -> "U " + id;
+            case TEMPLATE -> "T " + id;
+        };
+    }
+
+    static ChangeNotification decode(String line) {
+        String[] parts = line.split(" ");
+        UUID id = UUID.fromString(parts[1]);
+        return switch (parts[0]) {
+            case "W" -> of(new WorkflowChangedEvent(id, Enums.WorkflowChangeKind.valueOf(parts[2]), UUID.fromString(parts[3]),
+                    "-".equals(parts[4]) ? null : parts[4]));
+            case "U" -> of(Enums.ChangeType.USER, id);
+            case "T" -> of(Enums.ChangeType.TEMPLATE, id);
+            default -> throw new IllegalArgumentException("Unknown change type " + parts[0]);
+        };
+    }
+}
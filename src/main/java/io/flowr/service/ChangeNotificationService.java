@@ -0,0 +1,405 @@
+package io.flowr.service;
+
+import io.flowr.entity.EntityChangedEvent;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Fans changes out to the other nodes over PostgreSQL LISTEN/NOTIFY, so their
+ * in-memory caches and push channels see writes made elsewhere.
+ *
+ * Changes are collected per transaction and, once it commits, queued for a
+ * publisher thread. The publisher drains every queued batch at once, keeps
+ * the last change per row, and sends the rest over one pooled connection in
+ * as few notifications as the server's 8000 byte payload limit allows, so a
+ * burst of commits costs a single checkout. The queue is bounded; a batch
+ * that finds it full is dropped. Each payload starts with the sending node's
+ * id; a node ignores its own, since it already saw those changes as local
+ * events. Notifications are received on a dedicated connection outside the
+ * pool and handed to every {@link ChangeSubscriber}. A notification can be
+ * lost between commit and send, to a full queue or a failed notify, or while
+ * the listener reconnects. A node that dropped or failed to send changes
+ * marks the next notification it manages to send, and subscribers are told to
+ * resync on that mark and after a reconnect; they must still keep a TTL or
+ * similar bound on staleness, as a node can crash with changes unsent.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "change-notifications.enabled", havingValue = "true", matchIfMissing = true)
+public class ChangeNotificationService {
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<ChangeSubscriber> subscriberBeans;
+    private final List<ChangeSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final int pollMillis;
+    private final long reconnectMillis;
+    private final BlockingQueue<List<ChangeNotification>> pending;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    // Set when changes were lost on the way out; cleared by the publish that carries the resync mark
+    private final AtomicBoolean resyncOwed = new AtomicBoolean();
+    private final ExecutorService publisher;
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter received;
+    private final Counter reconnects;
+
+    private volatile boolean running;
+    private volatile boolean listening;
+    private volatile Connection listenConnection;
+
+    public ChangeNotificationService(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<ChangeSubscriber> subscriberBeans,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${change-notifications.channel}") String channel,
+            @Value("${change-notifications.poll-ms}") int pollMillis,
+            @Value("${change-notifications.reconnect-ms}") long reconnectMillis,
+            @Value("${change-notifications.queue-size}") int queueSize
+    ) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid change notification channel " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.subscriberBeans = subscriberBeans;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+        this.reconnectMillis = reconnectMillis;
+        this.pending = new ArrayBlockingQueue<>(queueSize);
+        // Holds at most the one drain task, see scheduleDrain
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1), runnable -> {
+            Thread thread = new Thread(runnable, "change-notify-publish");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.published = Counter.builder("flowr.change-notifications.published")
+                .description("Changes sent to other nodes")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("flowr.change-notifications.dropped")
+                .description("Changes not sent because the publish queue was full")
+                .register(meterRegistry);
+        this.received = Counter.builder("flowr.change-notifications.received")
+                .description("Changes received from other nodes")
+                .register(meterRegistry);
+        this.reconnects = Counter.builder("flowr.change-notifications.reconnects")
+                .description("Times the listener connection was re-established")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Adds a subscriber that is not a bean, e.g. one with a shorter lifetime than the context
+     */
+    public void subscribe(ChangeSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(ChangeSubscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    /**
+     * True while the listener connection is up and receiving
+     */
+    public boolean isListening() {
+        return listening;
+    }
+
+    @EventListener
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        collect(ChangeNotification.of(event));
+    }
+
+    @EventListener
+    public void onEntityChanged(EntityChangedEvent event) {
+        collect(ChangeNotification.of(event.type(), event.id()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        Thread listener = new Thread(this::listen, "change-notify-listen");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        running = false;
+        publisher.shutdown();
+        closeQuietly(listenConnection);
+    }
+
+    private void collect(ChangeNotification change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(List.of(change));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, ChangeNotification> batch = (Map<UUID, ChangeNotification>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            Map<UUID, ChangeNotification> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(List.copyOf(created.values()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ChangeNotificationService.this);
+                }
+            });
+            batch = created;
+        }
+        // A row written twice in one transaction is sent once, with its final state
+        batch.remove(change.rowId());
+        batch.put(change.rowId(), change);
+    }
+
+    /**
+     * Sends from another thread: after commit the transaction's connection is
+     * still bound to this one, and a notify sent on it would never commit
+     */
+    private void submit(List<ChangeNotification> changes) {
+        if (!pending.offer(changes)) {
+            // The full queue is being drained, and that publish carries the mark
+            resyncOwed.set(true);
+            dropped.increment(changes.size());
+            log.warn("Change publish queue is full, dropping {} changes", changes.size());
+            return;
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            publisher.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            draining.set(false);
+            log.debug("Change publisher is shut down, dropping {} batches", pending.size());
+        }
+    }
+
+    private void drain() {
+        try {
+            List<List<ChangeNotification>> batches = new ArrayList<>();
+            while (pending.drainTo(batches) > 0) {
+                Map<UUID, ChangeNotification> changes = new LinkedHashMap<>();
+                for (List<ChangeNotification> batch : batches) {
+                    for (ChangeNotification change : batch) {
+                        changes.remove(change.rowId());
+                        changes.put(change.rowId(), change);
+                    }
+                }
+                batches.clear();
+                publish(List.copyOf(changes.values()));
+            }
+        } finally {
+            draining.set(false);
+        }
+        // A submit that raced with the end of the loop may have found draining still set
+        scheduleDrain();
+    }
+
+    private void publish(List<ChangeNotification> changes) {
+        boolean resync = resyncOwed.getAndSet(false);
+        List<String> payloads = payloads(changes, resync);
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    for (String payload : payloads) {
+                        statement.setString(1, channel);
+                        statement.setString(2, payload);
+                        statement.execute();
+                    }
+                }
+                return null;
+            });
+            published.increment(changes.size());
+        } catch (RuntimeException e) {
+            // Sent with the next batch, once notifying works again
+            resyncOwed.set(true);
+            log.warn("Failed to notify other nodes of {} changes: {}", changes.size(), e.getMessage());
+        }
+    }
+
+    private List<String> payloads(List<ChangeNotification> changes, boolean resync) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        if (resync) {
+            payload.append('\n').append(ChangeNotification.RESYNC_LINE);
+        }
+        for (ChangeNotification change : changes) {
+            String line = change.encode();
+            // Ids and statuses are ASCII, so chars are bytes
+            if (payload.length() > nodeId.length() && payload.length() + 1 + line.length() > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.toString());
+                payload = new StringBuilder(nodeId);
+            }
+            payload.append('\n').append(line);
+        }
+        payloads.add(payload.toString());
+        return payloads;
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                listening = true;
+                if (connectedBefore) {
+                    reconnects.increment();
+                    log.info("Change listener reconnected, resyncing subscribers");
+                    resync();
+                }
+                connectedBefore = true;
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        // A quiet channel and a dead connection look the same until we ask
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("Listener connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        receive(notification.getParameter());
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Change listener connection failed, retrying in {} ms: {}", reconnectMillis, e.getMessage());
+                }
+            } finally {
+                listening = false;
+                listenConnection = null;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void receive(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+
+        List<ChangeNotification> changes = new ArrayList<>(lines.length - 1);
+        boolean resync = false;
+        for (int i = 1; i < lines.length; i++) {
+            if (lines[i].equals(ChangeNotification.RESYNC_LINE)) {
+                resync = true;
+                continue;
+            }
+            try {
+                changes.add(ChangeNotification.decode(lines[i]));
+            } catch (RuntimeException e) {
+                log.warn("Ignoring malformed change notification '{}'", lines[i]);
+            }
+        }
+        received.increment(changes.size());
+        forEachSubscriber(subscriber -> subscriber.onChanges(changes));
+        if (resync) {
+            log.info("Node {} lost changes, resyncing subscribers", lines[0]);
+            resync();
+        }
+    }
+
+    private void resync() {
+        forEachSubscriber(ChangeSubscriber::onResync);
+    }
+
+    private void forEachSubscriber(Consumer<ChangeSubscriber> call) {
+        List<ChangeSubscriber> all = new ArrayList<>(subscribers);
+        subscriberBeans.orderedStream().forEach(all::add);
+        for (ChangeSubscriber subscriber : all) {
+            try {
+                call.accept(subscriber);
+            } catch (RuntimeException e) {
+                log.error("Change subscriber {} failed: {}", subscriber.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to close listener connection: {}", e.getMessage());
+        }
+    }
+}
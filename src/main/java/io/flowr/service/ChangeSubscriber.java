@@ -0,0 +1,21 @@
+package io.flowr.service;
+
+import java.util.List;
+
+/**
+ * Receives changes committed on other nodes, see {@link ChangeNotificationService}.
+ * Beans implementing this are subscribed automatically. Callbacks run on the
+ * listener thread, so they must be quick and must not block.
+ */
+public interface ChangeSubscriber {
+
+    void onChanges(List<ChangeNotification> changes);
+
+    /**
+     * Changes may have been missed, e.g. while the listener reconnected or
+     * because another node could not send them;
+     * anything derived from earlier state should be dropped
+     */
+    default void onResync() {
+    }
+}
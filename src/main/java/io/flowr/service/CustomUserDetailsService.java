@@ -1,7 +1,5 @@
 package io.flowr.service;
 
-import io.flowr.entity.User;
-import io.flowr.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,24 +13,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
 
-        User user = userRepository.findByEmailAndIsActiveTrue(email)
+        UserCache.CachedUser user = userCache.findActiveByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
         return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getEmail())
-                .password(user.getPasswordHash())
+                .username(user.email())
+                .password(user.passwordHash())
                 .authorities(List.of(
-                        new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
+                        new SimpleGrantedAuthority("ROLE_" + user.role().name())
                 ))
                 .accountExpired(false)
-                .accountLocked(!user.getIsActive())
+                .accountLocked(!user.active())
                 .credentialsExpired(false)
-                .disabled(!user.getIsActive())
+                .disabled(!user.active())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package io.flowr.service;
+
+import io.flowr.entity.EmailOutboxMessage;
+import io.flowr.repository.EmailOutboxRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the email outbox.
+ * A batch is claimed with FOR UPDATE SKIP LOCKED and leased by pushing its
+ * nextAttemptAt forward, then the lock is released and the batch is sent over
+ * one SMTP connection outside any transaction. Sent mail is marked SENT; failed
+ * mail is rescheduled with exponential backoff until max-attempts, then FAILED.
+ * A dispatcher that dies mid-batch leaves the lease to expire, so mail is
+ * delivered at least once.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "email.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailDispatcher {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String from;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration backoff;
+    private final Duration maxBackoff;
+    private final Timer batchTimer;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    public EmailDispatcher(
+            EmailOutboxRepository emailOutboxRepository,
+            JavaMailSender mailSender,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${email.from}") String from,
+            @Value("${email.dispatcher.batch-size}") int batchSize,
+            @Value("${email.dispatcher.max-batches}") int maxBatches,
+            @Value("${email.dispatcher.max-attempts}") int maxAttempts,
+            @Value("${email.dispatcher.lease-seconds}") long leaseSeconds,
+            @Value("${email.dispatcher.backoff-seconds}") long backoffSeconds,
+            @Value("${email.dispatcher.max-backoff-seconds}") long maxBackoffSeconds
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.from = from;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.backoff = Duration.ofSeconds(backoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.batchTimer = Timer.builder("flowr.email.batch")
+                .description("SMTP time of one outbox batch")
+                .register(meterRegistry);
+        this.sentCounter = dispatchedCounter("sent", meterRegistry);
+        this.retriedCounter = dispatchedCounter("retried", meterRegistry);
+        this.failedCounter = dispatchedCounter("failed", meterRegistry);
+        Gauge.builder("flowr.email.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending email, as of the last dispatch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return number of emails sent
+     */
+    @Scheduled(fixedDelayString = "${email.dispatcher.interval-ms}", initialDelayString = "${email.dispatcher.interval-ms}")
+    public int dispatch() {
+        int sent = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<EmailOutboxMessage> claimed = claim();
+            if (claimed.isEmpty()) {
+                break;
+            }
+            sent += send(claimed);
+            if (claimed.size() < batchSize) {
+                break;
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        lagSeconds.set(emailOutboxRepository.findOldestPendingCreatedAt()
+                .map(oldest -> Duration.between(oldest, now).toSeconds())
+                .orElse(0L));
+        return sent;
+    }
+
+    private List<EmailOutboxMessage> claim() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<EmailOutboxMessage> claimed = emailOutboxRepository.claimDue(now, batchSize);
+            if (!claimed.isEmpty()) {
+                emailOutboxRepository.lease(claimed.stream().map(EmailOutboxMessage::getId).toList(), now.plus(lease));
+            }
+            return claimed;
+        });
+    }
+
+    private int send(List<EmailOutboxMessage> claimed) {
+        Map<SimpleMailMessage, UUID> ids = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : claimed) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            ids.put(mail, message.getId());
+        }
+
+        Map<UUID, String> failures = new HashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(ids.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            // Per-message failures when the connection worked, otherwise the whole batch failed
+            if (e.getFailedMessages().isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, errorMessage(e)));
+            } else {
+                e.getFailedMessages().forEach((mail, error) -> failures.put(ids.get(mail), errorMessage(error)));
+            }
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, errorMessage(e)));
+        } finally {
+            sample.stop(batchTimer);
+        }
+
+        List<UUID> sentIds = new ArrayList<>(ids.size());
+        for (UUID id : ids.values()) {
+            if (!failures.containsKey(id)) {
+                sentIds.add(id);
+            }
+        }
+        recordOutcome(sentIds, failures);
+        sentCounter.increment(sentIds.size());
+
+        if (!failures.isEmpty()) {
+            log.warn("Failed to send {} of {} emails: {}", failures.size(), ids.size(), failures.values().iterator().next());
+        }
+        return sentIds.size();
+    }
+
+    private void recordOutcome(List<UUID> sentIds, Map<UUID, String> failures) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!sentIds.isEmpty()) {
+                emailOutboxRepository.markSent(sentIds, now);
+            }
+
+            for (EmailOutboxMessage message : emailOutboxRepository.findAllById(failures.keySet())) {
+                message.setLastError(failures.get(message.getId()));
+                if (message.getAttempts() >= maxAttempts) {
+                    message.setStatus(Enums.EmailStatus.FAILED);
+                    failedCounter.increment();
+                    log.error("Giving up on email {} to {} after {} attempts", message.getId(), message.getRecipient(), message.getAttempts());
+                } else {
+                    message.setNextAttemptAt(now.plus(backoffFor(message.getAttempts())));
+                    retriedCounter.increment();
+                }
+            }
+        });
+    }
+
+    /**
+     * backoff * 2^(attempts - 1), capped at max-backoff
+     */
+    private Duration backoffFor(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = backoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String errorMessage(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static Counter dispatchedCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.email.dispatched")
+                .description("Outbox emails handled by the dispatcher")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
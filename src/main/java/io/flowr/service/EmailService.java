@@ -1,5 +1,7 @@
 package io.flowr.service;
 
+import java.time.LocalDateTime;
+
 /**
  * Email Service Interface
  * Implement this interface with an email provider
@@ -16,5 +18,14 @@ public interface EmailService {
     void sendWelcomeEmail(String email, String name);
 
 
+    void sendInvitationEmail(String email, String name, String invitationToken);
+
+
     void sendPasswordChangeNotification(String email);
-}
\ No newline at end of file
+
+
+    void sendWorkflowOverdueNotification(String email, String workflowTitle, LocalDateTime dueAt);
+
+
+    void sendStepOverdueNotification(String email, String workflowTitle, String stepName, LocalDateTime dueAt);
+}
@@ -0,0 +1,196 @@
+package io.flowr.service;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The signing and verification keys of this node, held in memory.
+ * Tokens are signed with the newest active key and carry its kid; the parser
+ * looks the kid up here, so keys published by another node are accepted as
+ * soon as this node has loaded them. An unknown kid triggers one throttled
+ * reload before the token is rejected. Tokens without a kid predate the key
+ * ring and are verified with the HMAC secret while legacy verification is on.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    private static final long RELOAD_THROTTLE_NANOS = 1_000_000_000L;
+
+    private final SecretKey legacyKey;
+    private final AtomicLong lastReload = new AtomicLong(System.nanoTime() - RELOAD_THROTTLE_NANOS);
+    private volatile Runnable reloader = () -> {
+    };
+
+    private volatile List<Entry> signingOrder = List.of();
+    private volatile Map<String, Entry> byKid = Map.of();
+
+    public record Entry(
+            String kid,
+            String algorithm,
+            PublicKey publicKey,
+            PrivateKey privateKey,
+            Instant activatesAt,
+            Instant retiredAt
+    ) {
+        boolean signsAt(Instant now) {
+            return !activatesAt.isAfter(now) && (retiredAt == null || retiredAt.isAfter(now));
+        }
+
+        SignatureAlgorithm signatureAlgorithm() {
+            return JwtKeyRing.signatureAlgorithm(algorithm);
+        }
+    }
+
+    public JwtKeyRing(
+            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.legacy-hmac.enabled}") boolean legacyHmacEnabled
+    ) {
+        this.legacyKey = legacyHmacEnabled ? Keys.hmacShaKeyFor(secret.getBytes()) : null;
+    }
+
+    /**
+     * Replaces the key set, e.g. after loading it from the database
+     */
+    public void update(List<Entry> entries) {
+        Map<String, Entry> kids = new HashMap<>();
+        entries.forEach(entry -> kids.put(entry.kid(), entry));
+        List<Entry> ordered = new ArrayList<>(entries);
+        ordered.sort(Comparator.comparing(Entry::activatesAt).reversed());
+
+        byKid = Map.copyOf(kids);
+        signingOrder = List.copyOf(ordered);
+    }
+
+    public void setReloader(Runnable reloader) {
+        this.reloader = reloader;
+    }
+
+    public Entry signingKey() {
+        Instant now = Instant.now();
+        for (Entry entry : signingOrder) {
+            if (entry.signsAt(now)) {
+                return entry;
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey == null || !header.getAlgorithm().startsWith("HS")) {
+                throw new UnsupportedJwtException("Token has no key id");
+            }
+            return legacyKey;
+        }
+
+        Entry entry = byKid.get(kid);
+        if (entry == null && reloadAllowed()) {
+            reloader.run();
+            entry = byKid.get(kid);
+        }
+        if (entry == null) {
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        return entry.publicKey();
+    }
+
+    /**
+     * Public keys of every key that signs or may still have signed unexpired tokens, in JWK Set form
+     */
+    public Map<String, Object> jwks() {
+        List<Map<String, Object>> keys = new ArrayList<>();
+        for (Entry entry : signingOrder) {
+            keys.add(new LinkedHashMap<>(Jwks.builder()
+                    .key(entry.publicKey())
+                    .id(entry.kid())
+                    .algorithm(entry.algorithm())
+                    .publicKeyUse("sig")
+                    .build()));
+        }
+        return Map.of("keys", keys);
+    }
+
+    private boolean reloadAllowed() {
+        long last = lastReload.get();
+        long now = System.nanoTime();
+        return now - last >= RELOAD_THROTTLE_NANOS && lastReload.compareAndSet(last, now);
+    }
+
+    public static KeyPair generateKeyPair(String algorithm) {
+        try {
+            return switch (algorithm) {
+                case "ES256" -> {
+                    KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                    generator.initialize(new ECGenParameterSpec("secp256r1"));
+                    yield generator.generateKeyPair();
+                }
+                case "EdDSA" -> KeyPairGenerator.getInstance("Ed25519").generateKeyPair();
+                default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm " + algorithm);
+            };
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate " + algorithm + " key pair", e);
+        }
+    }
+
+    public static PublicKey decodePublicKey(String algorithm, byte[] encoded) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm(algorithm)).generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decode " + algorithm + " public key", e);
+        }
+    }
+
+    public static PrivateKey decodePrivateKey(String algorithm, byte[] encoded) {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm(algorithm)).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decode " + algorithm + " private key", e);
+        }
+    }
+
+    static SignatureAlgorithm signatureAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "ES256" -> Jwts.SIG.ES256;
+            case "EdDSA" -> Jwts.SIG.EdDSA;
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm " + algorithm);
+        };
+    }
+
+    private static String keyFactoryAlgorithm(String algorithm) {
+        return switch (algorithm) {
+            case "ES256" -> "EC";
+            case "EdDSA" -> "Ed25519";
+            default -> throw new IllegalArgumentException("Unsupported JWT signing algorithm " + algorithm);
+        };
+    }
+}
@@ -0,0 +1,212 @@
+package io.flowr.service;
+
+import io.flowr.entity.JwtSigningKey;
+import io.flowr.repository.JwtSigningKeyRepository;
+import io.flowr.utils.UuidV7Generator;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the JWT key ring in the database and in step on every node.
+ *
+ * A rotation runs under a table lock, so only one node creates the next key.
+ * The new key is published at once but only starts signing after
+ * publish-delay, by which time every node has loaded it and can verify its
+ * tokens. The previous key stops signing at that moment and keeps verifying
+ * for the longest token lifetime, then it is deleted.
+ */
+@Service
+@Slf4j
+public class JwtKeyRotationService {
+    private static final int GCM_IV_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final JwtSigningKeyRepository jwtSigningKeyRepository;
+    private final JwtKeyRing keyRing;
+    private final TransactionTemplate transactionTemplate;
+    private final SecretKeySpec encryptionKey;
+    private final String algorithm;
+    private final Duration rotationPeriod;
+    private final Duration publishDelay;
+    private final Duration verificationLifetime;
+
+    public JwtKeyRotationService(
+            JwtSigningKeyRepository jwtSigningKeyRepository,
+            JwtKeyRing keyRing,
+            PlatformTransactionManager transactionManager,
+            @Value("${jwt.signing.key-encryption-secret}") String keyEncryptionSecret,
+            @Value("${jwt.signing.algorithm}") String algorithm,
+            @Value("${jwt.signing.rotation-days}") long rotationDays,
+            @Value("${jwt.signing.refresh-ms}") long refreshMillis,
+            @Value("${jwt.access-token.expiration-minutes}") long accessTokenExpirationMinutes,
+            @Value("${jwt.email-verification.expiration.hours}") long emailVerificationExpirationHours,
+            @Value("${jwt.password-reset.expiration.hours}") long passwordResetExpirationHours,
+            @Value("${jwt.invitation.expiration.hours}") long invitationExpirationHours
+    ) {
+        this.jwtSigningKeyRepository = jwtSigningKeyRepository;
+        this.keyRing = keyRing;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.encryptionKey = new SecretKeySpec(sha256("flowr-jwt-signing-keys:" + keyEncryptionSecret), "AES");
+        this.algorithm = algorithm;
+        // Fails fast on an unsupported algorithm
+        JwtKeyRing.signatureAlgorithm(algorithm);
+        this.rotationPeriod = Duration.ofDays(rotationDays);
+        // Two refreshes, so a node that just missed one still loads the key in time
+        this.publishDelay = Duration.ofMillis(refreshMillis * 2);
+        this.verificationLifetime = List.of(
+                Duration.ofMinutes(accessTokenExpirationMinutes),
+                Duration.ofHours(emailVerificationExpirationHours),
+                Duration.ofHours(passwordResetExpirationHours),
+                Duration.ofHours(invitationExpirationHours)
+        ).stream().max(Comparator.naturalOrder()).orElseThrow();
+    }
+
+    @PostConstruct
+    void init() {
+        keyRing.setReloader(this::reload);
+        rotateIfDue();
+    }
+
+    /**
+     * Creates the next key when the newest one is older than the rotation period
+     * or uses another algorithm than configured, then reloads the ring.
+     */
+    public void rotateIfDue() {
+        if (isDue(newestSigning(LocalDateTime.now()))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jwtSigningKeyRepository.lockForRotation();
+                // Another node may have rotated while we waited for the lock
+                LocalDateTime now = LocalDateTime.now();
+                Optional<JwtSigningKey> newest = newestSigning(now);
+                if (isDue(newest)) {
+                    rotate(newest, now);
+                }
+            });
+        }
+        reload();
+    }
+
+    /**
+     * Rotates now regardless of age, e.g. after a suspected key leak
+     */
+    public void rotate() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jwtSigningKeyRepository.lockForRotation();
+            LocalDateTime now = LocalDateTime.now();
+            rotate(newestSigning(now), now);
+        });
+        reload();
+    }
+
+    public void reload() {
+        LocalDateTime now = LocalDateTime.now();
+        List<JwtKeyRing.Entry> entries = transactionTemplate.execute(status -> {
+            jwtSigningKeyRepository.deleteExpired(now);
+            return jwtSigningKeyRepository.findUnexpired(now).stream().map(this::toEntry).toList();
+        });
+        keyRing.update(entries);
+    }
+
+    private void rotate(Optional<JwtSigningKey> previous, LocalDateTime now) {
+        // With no key to fall back on the first key signs at once
+        LocalDateTime activatesAt = previous.isPresent() ? now.plus(publishDelay) : now;
+        String kid = UuidV7Generator.nextUuid().toString();
+        KeyPair keyPair = JwtKeyRing.generateKeyPair(algorithm);
+
+        jwtSigningKeyRepository.save(JwtSigningKey.builder()
+                .kid(kid)
+                .algorithm(algorithm)
+                .publicKey(keyPair.getPublic().getEncoded())
+                .privateKey(encrypt(kid, keyPair.getPrivate().getEncoded()))
+                .activatesAt(activatesAt)
+                .build());
+
+        previous.ifPresent(key -> {
+            key.setRetiredAt(activatesAt);
+            key.setExpiresAt(activatesAt.plus(verificationLifetime));
+        });
+        log.info("Created {} signing key {}, signing from {}", algorithm, kid, activatesAt);
+    }
+
+    private boolean isDue(Optional<JwtSigningKey> newest) {
+        LocalDateTime rotateBefore = LocalDateTime.now().minus(rotationPeriod);
+        return newest
+                .map(key -> !key.getAlgorithm().equals(algorithm) || !key.getActivatesAt().isAfter(rotateBefore))
+                .orElse(true);
+    }
+
+    private Optional<JwtSigningKey> newestSigning(LocalDateTime now) {
+        return jwtSigningKeyRepository.findUnexpired(now).stream()
+                .filter(key -> key.getRetiredAt() == null)
+                .max(Comparator.comparing(JwtSigningKey::getActivatesAt));
+    }
+
+    private JwtKeyRing.Entry toEntry(JwtSigningKey key) {
+        return new JwtKeyRing.Entry(
+                key.getKid(),
+                key.getAlgorithm(),
+                JwtKeyRing.decodePublicKey(key.getAlgorithm(), key.getPublicKey()),
+                JwtKeyRing.decodePrivateKey(key.getAlgorithm(), decrypt(key.getKid(), key.getPrivateKey())),
+                key.getActivatesAt().atZone(ZoneId.systemDefault()).toInstant(),
+                key.getRetiredAt() != null ? key.getRetiredAt().atZone(ZoneId.systemDefault()).toInstant() : null
+        );
+    }
+
+    /**
+     * AES-256-GCM with a random IV stored in front of the ciphertext; the kid is
+     * authenticated too, so a ciphertext cannot be moved to another row
+     */
+    private byte[] encrypt(String kid, byte[] plaintext) {
+        try {
+            byte[] iv = new byte[GCM_IV_BYTES];
+            RANDOM.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot encrypt signing key", e);
+        }
+    }
+
+    private byte[] decrypt(String kid, byte[] stored) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_IV_BYTES));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(stored, GCM_IV_BYTES, stored.length - GCM_IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot decrypt signing key " + kid + ", check jwt.signing.key-encryption-secret", e);
+        }
+    }
+
+    private static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.flowr.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Rotates the JWT signing key when it is due and loads keys published by
+ * other nodes. The refresh interval also sets how long a new key is
+ * published before it signs, see JwtKeyRotationService.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "jwt.signing.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class JwtKeyRotationSync {
+    private final JwtKeyRotationService jwtKeyRotationService;
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-ms}", initialDelayString = "${jwt.signing.refresh-ms}")
+    public void refresh() {
+        jwtKeyRotationService.rotateIfDue();
+    }
+}
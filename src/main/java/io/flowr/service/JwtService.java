@@ -1,66 +1,97 @@
 package io.flowr.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.flowr.config.JwtPrincipal;
+import io.flowr.utils.UuidV7Generator;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
+import java.util.UUID;
 
 
 @Service
 @Slf4j
 public class JwtService {
-    private final SecretKey secretKey;
-    private final long jwtExpirationHours;
+    // One SHA-256 block, so each update is compressed straight from the chunk
+    private static final int DIGEST_CHUNK_SIZE = 64;
+    private static final MessageDigest SHA256 = newSha256();
+
+    private final JwtKeyRing keyRing;
+    private final JwtParser jwtParser;
+    private final Cache<ByteBuffer, JwtPrincipal> principalCache;
+    private final Duration accessTokenLifetime;
     private final long emailVerificationExpirationHours;
     private final long passwordResetExpirationHours;
+    private final long invitationExpirationHours;
 
     public JwtService(
-            @Value("${jwt.secret}") String secret,
-            @Value("${jwt.expiration.hours}") long jwtExpirationHours,
+            JwtKeyRing keyRing,
+            @Value("${jwt.access-token.expiration-minutes}") long accessTokenExpirationMinutes,
             @Value("${jwt.email-verification.expiration.hours}") long emailVerificationExpirationHours,
-            @Value("${jwt.password-reset.expiration.hours}") long passwordResetExpirationHours
+            @Value("${jwt.password-reset.expiration.hours}") long passwordResetExpirationHours,
+            @Value("${jwt.invitation.expiration.hours}") long invitationExpirationHours,
+            @Value("${jwt.principal-cache.max-size:10000}") long principalCacheMaxSize
     ) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
-        this.jwtExpirationHours = jwtExpirationHours;
+        this.keyRing = keyRing;
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfter(new PrincipalExpiry())
+                .build();
+        this.accessTokenLifetime = Duration.ofMinutes(accessTokenExpirationMinutes);
         this.emailVerificationExpirationHours = emailVerificationExpirationHours;
         this.passwordResetExpirationHours = passwordResetExpirationHours;
+        this.invitationExpirationHours = invitationExpirationHours;
+    }
+
+    public Duration getAccessTokenLifetime() {
+        return accessTokenLifetime;
     }
 
+    /**
+     * The jti is a UUIDv7, so it also records the issue time to the millisecond
+     * for TokenRevocationService; iat only has second precision.
+     * Access tokens are short-lived; clients renew them with a refresh token.
+     */
     public String generateToken(String email, String userId, String role, String organizationId) {
         Instant now = Instant.now();
-        Instant expiration = now.plus(jwtExpirationHours, ChronoUnit.HOURS);
+        Instant expiration = now.plus(accessTokenLifetime);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
+                .id(UuidV7Generator.nextUuid().toString())
                 .subject(email)
                 .claim("userId", userId)
                 .claim("role", role)
                 .claim("organizationId", organizationId)
                 .claim("type", "auth")
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiration))
-                .signWith(secretKey)
-                .compact();
+                .expiration(Date.from(expiration)));
     }
 
     public String generateEmailVerificationToken(String email, String userId) {
         Instant now = Instant.now();
         Instant expiration = now.plus(emailVerificationExpirationHours, ChronoUnit.HOURS);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .subject(email)
                 .claim("userId", userId)
                 .claim("email", email)
                 .claim("type", "email_verification")
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiration))
-                .signWith(secretKey)
-                .compact();
+                .expiration(Date.from(expiration)));
     }
 
 
@@ -68,14 +99,36 @@ public class JwtService {
         Instant now = Instant.now();
         Instant expiration = now.plus(passwordResetExpirationHours, ChronoUnit.HOURS);
 
-        return Jwts.builder()
+        return sign(Jwts.builder()
                 .subject(email)
                 .claim("userId", userId)
                 .claim("email", email)
                 .claim("type", "password_reset")
                 .issuedAt(Date.from(now))
-                .expiration(Date.from(expiration))
-                .signWith(secretKey)
+                .expiration(Date.from(expiration)));
+    }
+
+    public String generateInvitationToken(String email, String userId, String organizationId) {
+        Instant now = Instant.now();
+        Instant expiration = now.plus(invitationExpirationHours, ChronoUnit.HOURS);
+
+        return sign(Jwts.builder()
+                .subject(email)
+                .claim("userId", userId)
+                .claim("organizationId", organizationId)
+                .claim("type", "invitation")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(expiration)));
+    }
+
+    /**
+     * Signs with the ring's current key and names it in the kid header
+     */
+    private String sign(JwtBuilder builder) {
+        JwtKeyRing.Entry key = keyRing.signingKey();
+        return builder
+                .header().keyId(key.kid()).and()
+                .signWith(key.privateKey(), key.signatureAlgorithm())
                 .compact();
     }
 
@@ -101,6 +154,17 @@ public class JwtService {
         return claims;
     }
 
+    public Claims validateInvitationToken(String token) {
+        Claims claims = validateTokenAndGetClaims(token);
+
+        String tokenType = claims.get("type", String.class);
+        if (!"invitation".equals(tokenType)) {
+            throw new JwtException("Invalid token type for invitation");
+        }
+
+        return claims;
+    }
+
     public Claims validatePasswordResetToken(String token) {
         Claims claims = validateTokenAndGetClaims(token);
 
@@ -112,11 +176,46 @@ public class JwtService {
         return claims;
     }
 
+    /**
+     * Verifies an auth token once and returns its claims as an immutable principal.
+     * Verified principals are cached by token digest until the token expires,
+     * so repeated requests with the same token skip parsing and signature checks.
+     */
+    public JwtPrincipal verifyAuthToken(String token) {
+        return verifyAuthToken(token, 0);
+    }
+
+    /**
+     * Same as verifyAuthToken(String) for the token starting at offset, e.g. after "Bearer " in
+     * an Authorization header; the token is only copied out of the header on a cache miss.
+     */
+    public JwtPrincipal verifyAuthToken(String header, int offset) {
+        ByteBuffer key = digest(header, offset);
+
+        JwtPrincipal cached = principalCache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+
+        Claims claims = validateAuthToken(header.substring(offset));
+        UUID tokenId = claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        JwtPrincipal principal = new JwtPrincipal(
+                claims.getSubject(),
+                UUID.fromString(claims.get("userId", String.class)),
+                UUID.fromString(claims.get("organizationId", String.class)),
+                claims.get("role", String.class),
+                tokenId,
+                tokenId != null ? Instant.ofEpochMilli(UuidV7Generator.timestampMillis(tokenId)) : claims.getIssuedAt().toInstant(),
+                claims.getExpiration().toInstant()
+        );
+
+        principalCache.put(key, principal);
+        return principal;
+    }
+
     private Claims validateTokenAndGetClaims(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
+            return jwtParser
                     .parseSignedClaims(token)
                     .getPayload();
         } catch (ExpiredJwtException e) {
@@ -161,7 +260,7 @@ public class JwtService {
     public boolean isTokenValid(String token, String email) {
         Claims claims = validateTokenAndGetClaims(token);
         String tokenEmail = claims.getSubject();
-        return tokenEmail.equals(email) && !isTokenExpired(token);
+        return tokenEmail.equals(email) && claims.getExpiration().after(new Date());
     }
 
     public boolean isTokenExpired(String token) {
@@ -177,4 +276,60 @@ public class JwtService {
         Claims claims = validateTokenAndGetClaims(token);
         return claims.getExpiration();
     }
-}
\ No newline at end of file
+
+    /**
+     * Runs on every authenticated request. The token is fed in small ASCII chunks to a clone
+     * of a shared, never-updated digest, which skips the provider lookup of getInstance and
+     * copies no more of the token than one chunk. Nothing is kept per thread: with virtual
+     * threads a thread-local lives only as long as one request, so it would be rebuilt each time.
+     */
+    private static ByteBuffer digest(String token, int offset) {
+        MessageDigest sha256 = cloneSha256();
+        byte[] chunk = new byte[DIGEST_CHUNK_SIZE];
+        for (int start = offset; start < token.length(); start += DIGEST_CHUNK_SIZE) {
+            int length = Math.min(DIGEST_CHUNK_SIZE, token.length() - start);
+            for (int i = 0; i < length; i++) {
+                chunk[i] = (byte) token.charAt(start + i);
+            }
+            sha256.update(chunk, 0, length);
+        }
+        return ByteBuffer.wrap(sha256.digest());
+    }
+
+    private static MessageDigest cloneSha256() {
+        try {
+            return (MessageDigest) SHA256.clone();
+        } catch (CloneNotSupportedException e) {
+            return newSha256();
+        }
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Evicts cached principals at the moment their token expires.
+     */
+    private static class PrincipalExpiry implements Expiry<ByteBuffer, JwtPrincipal> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, JwtPrincipal principal, long currentTime) {
+            long nanos = Duration.between(Instant.now(), principal.expiresAt()).toNanos();
+            return Math.max(nanos, 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, JwtPrincipal principal, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
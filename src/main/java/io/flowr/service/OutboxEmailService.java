@@ -0,0 +1,116 @@
+package io.flowr.service;
+
+import io.flowr.entity.EmailOutboxMessage;
+import io.flowr.repository.EmailOutboxRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * EmailService backed by the email_outbox table.
+ * Mail is only written here, in the caller's transaction, so it is sent if and
+ * only if the change that triggered it commits. EmailDispatcher does the SMTP work.
+ */
+@Service
+@Slf4j
+@Transactional
+public class OutboxEmailService implements EmailService {
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final String linkBaseUrl;
+
+    public OutboxEmailService(
+            EmailOutboxRepository emailOutboxRepository,
+            @Value("${email.link-base-url}") String linkBaseUrl
+    ) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.linkBaseUrl = linkBaseUrl;
+    }
+
+    @Override
+    public void sendEmailVerification(String email, String verificationToken) {
+        enqueue(email, "Verify your Flowr email address", """
+                Welcome to Flowr!
+
+                Please confirm your email address by opening the link below:
+                %s
+
+                If you did not create an account, you can ignore this email.
+                """.formatted(link("/api/v1/auth/verify-email", verificationToken)));
+    }
+
+    @Override
+    public void sendPasswordResetEmail(String email, String resetToken) {
+        enqueue(email, "Reset your Flowr password", """
+                We received a request to reset your password.
+
+                Open the link below to choose a new one:
+                %s
+
+                If you did not ask for a reset, you can ignore this email.
+                """.formatted(link("/reset-password", resetToken)));
+    }
+
+    @Override
+    public void sendWelcomeEmail(String email, String name) {
+        enqueue(email, "Welcome to Flowr", """
+                Hi %s,
+
+                Your Flowr account is ready. You can sign in at %s
+                """.formatted(name, linkBaseUrl));
+    }
+
+    @Override
+    public void sendInvitationEmail(String email, String name, String invitationToken) {
+        enqueue(email, "You have been invited to Flowr", """
+                Hi %s,
+
+                You have been invited to join your team on Flowr.
+                Accept the invitation by opening the link below:
+                %s
+                """.formatted(name, link("/api/v1/auth/accept-invite", invitationToken)));
+    }
+
+    @Override
+    public void sendPasswordChangeNotification(String email) {
+        enqueue(email, "Your Flowr password was changed", """
+                The password of your Flowr account was just changed.
+
+                If this was not you, reset your password right away and contact your administrator.
+                """);
+    }
+
+    @Override
+    public void sendWorkflowOverdueNotification(String email, String workflowTitle, LocalDateTime dueAt) {
+        enqueue(email, "Overdue: " + workflowTitle, """
+                The workflow "%s" was due at %s and is not completed yet.
+                """.formatted(workflowTitle, dueAt));
+    }
+
+    @Override
+    public void sendStepOverdueNotification(String email, String workflowTitle, String stepName, LocalDateTime dueAt) {
+        enqueue(email, "Overdue step: " + stepName, """
+                The step "%s" of workflow "%s" was due at %s and is not completed yet.
+                """.formatted(stepName, workflowTitle, dueAt));
+    }
+
+    private void enqueue(String recipient, String subject, String body) {
+        EmailOutboxMessage message = emailOutboxRepository.save(EmailOutboxMessage.builder()
+                .recipient(recipient)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+        log.debug("Queued email {} '{}' for {}", message.getId(), subject, recipient);
+    }
+
+    private String link(String path, String token) {
+        return UriComponentsBuilder.fromUriString(linkBaseUrl)
+                .path(path)
+                .queryParam("token", token)
+                .toUriString();
+    }
+}
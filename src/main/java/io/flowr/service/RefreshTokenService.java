@@ -0,0 +1,144 @@
+package io.flowr.service;
+
+import io.flowr.entity.RefreshToken;
+import io.flowr.exception.RefreshTokenReuseException;
+import io.flowr.repository.RefreshTokenRepository;
+import io.flowr.utils.UuidV7Generator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque, single-use refresh tokens. Only their SHA-256 hash is stored.
+ * Each refresh marks the presented token used and issues the next one in
+ * the same family; a used token presented again means it was copied, so
+ * the whole family is revoked and both holders have to sign in again. Within
+ * a few seconds of its use a replay is only rejected, since a client retry or
+ * a second tab refreshing at once looks the same and should not end the session.
+ * Refreshing touches the database, which is why access tokens can stay
+ * short-lived and per-request authentication stays stateless.
+ */
+@Service
+@Slf4j
+@Transactional
+public class RefreshTokenService {
+    private static final int TOKEN_BYTES = 32;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration lifetime;
+    private final Duration reuseGrace;
+    private final Counter rotated;
+    private final Counter reused;
+    private final Counter rejected;
+
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.refresh-token.expiration-days}") long expirationDays,
+            @Value("${jwt.refresh-token.reuse-grace-seconds}") long reuseGraceSeconds
+    ) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.lifetime = Duration.ofDays(expirationDays);
+        this.reuseGrace = Duration.ofSeconds(reuseGraceSeconds);
+        this.rotated = refreshCounter("rotated", meterRegistry);
+        this.reused = refreshCounter("reused", meterRegistry);
+        this.rejected = refreshCounter("rejected", meterRegistry);
+    }
+
+    /**
+     * Starts a new family, e.g. on login
+     */
+    public String issue(UUID userId) {
+        return create(userId, UuidV7Generator.nextUuid());
+    }
+
+    @Transactional(dontRollbackOn = RefreshTokenReuseException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> reject("Invalid refresh token"));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (current.getRevokedAt() != null) {
+            throw reject("Refresh token has been revoked");
+        }
+        if (current.getUsedAt() != null) {
+            // A retry or a second tab racing the rotation; its successor is only stored hashed
+            if (current.getUsedAt().plus(reuseGrace).isAfter(now)) {
+                throw reject("Refresh token was already used");
+            }
+            refreshTokenRepository.revokeFamily(current.getFamilyId(), now);
+            reused.increment();
+            log.warn("Refresh token reused for user {}, revoked family {}", current.getUserId(), current.getFamilyId());
+            throw new RefreshTokenReuseException();
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw reject("Refresh token has expired");
+        }
+
+        current.setUsedAt(now);
+        rotated.increment();
+        return new Rotation(current.getUserId(), create(current.getUserId(), current.getFamilyId()));
+    }
+
+    /**
+     * Ends the session the token belongs to, e.g. on logout
+     */
+    public void revokeFamily(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), LocalDateTime.now()));
+    }
+
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private String create(UUID userId, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .userId(userId)
+                .familyId(familyId)
+                .tokenHash(hash(rawToken))
+                .expiresAt(LocalDateTime.now().plus(lifetime))
+                .build());
+        return rawToken;
+    }
+
+    private RuntimeException reject(String message) {
+        rejected.increment();
+        return new RuntimeException(message);
+    }
+
+    private static byte[] hash(String rawToken) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter refreshCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.auth.refresh")
+                .description("Refresh token requests by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
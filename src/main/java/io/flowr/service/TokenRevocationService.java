@@ -0,0 +1,235 @@
+package io.flowr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.flowr.config.JwtPrincipal;
+import io.flowr.dto.user.TokenWatermarkView;
+import io.flowr.entity.User;
+import io.flowr.repository.RefreshTokenRepository;
+import io.flowr.repository.RevokedTokenRepository;
+import io.flowr.repository.UserRepository;
+import io.flowr.utils.UuidBloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revokes auth tokens before they expire, either one token by jti (logout)
+ * or every token a user was issued before a watermark (password or role change).
+ *
+ * Checked on every authenticated request, so the check is in memory:
+ * watermarks sit in a map keyed by user, revoked jtis in a bloom filter.
+ * A token the filter has never seen is accepted without a lookup; a hit is
+ * confirmed against the database once and the answer cached, so false
+ * positives cost one query per token. Revocations made on this node apply
+ * when their transaction commits; other nodes pick them up on the next
+ * refresh, which re-reads a short overlap window to tolerate commit order.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration tokenLifetime;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final Cache<UUID, Boolean> confirmed;
+    private final Counter revokedTokenRejections;
+    private final Counter watermarkRejections;
+    private final Counter falsePositives;
+
+    private volatile UuidBloomFilter revokedTokens;
+    private volatile Map<UUID, Long> watermarks = new ConcurrentHashMap<>();
+    private volatile LocalDateTime syncedFrom = LocalDateTime.now();
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.access-token.expiration-minutes}") long accessTokenExpirationMinutes,
+            @Value("${token-revocation.expected-revocations}") int expectedRevocations,
+            @Value("${token-revocation.false-positive-rate}") double falsePositiveRate,
+            @Value("${token-revocation.confirm-cache.max-size}") long confirmCacheMaxSize
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tokenLifetime = Duration.ofMinutes(accessTokenExpirationMinutes);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.revokedTokens = new UuidBloomFilter(expectedRevocations, falsePositiveRate);
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(confirmCacheMaxSize)
+                .expireAfterWrite(tokenLifetime)
+                .build();
+        this.revokedTokenRejections = rejectionCounter("token", meterRegistry);
+        this.watermarkRejections = rejectionCounter("user", meterRegistry);
+        this.falsePositives = Counter.builder("flowr.token.revocation.false-positives")
+                .description("Bloom filter hits for tokens that were not revoked")
+                .register(meterRegistry);
+        Gauge.builder("flowr.token.revocation.size", this, service -> service.revokedTokens.size())
+                .description("Revoked token ids held in the bloom filter")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(JwtPrincipal principal) {
+        Long validAfter = watermarks.get(principal.userId());
+        if (validAfter != null && principal.issuedAt().toEpochMilli() < validAfter) {
+            watermarkRejections.increment();
+            return true;
+        }
+
+        UUID tokenId = principal.tokenId();
+        if (tokenId == null || !revokedTokens.mightContain(tokenId)) {
+            return false;
+        }
+
+        boolean revoked = confirmed.get(tokenId, revokedTokenRepository::existsById);
+        if (revoked) {
+            revokedTokenRejections.increment();
+        } else {
+            falsePositives.increment();
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes one token, e.g. on logout
+     */
+    @Transactional
+    public void revokeToken(JwtPrincipal principal) {
+        UUID tokenId = principal.tokenId();
+        if (tokenId == null) {
+            throw new RuntimeException("Token cannot be revoked, please sign in again");
+        }
+
+        revokedTokenRepository.insertIfAbsent(tokenId, principal.userId(), toLocal(principal.expiresAt()), LocalDateTime.now());
+        afterCommit(() -> {
+            revokedTokens.add(tokenId);
+            confirmed.invalidate(tokenId);
+        });
+    }
+
+    /**
+     * Revokes every access token issued to the user until now, and all their
+     * refresh tokens. The caller saves the user.
+     */
+    public void revokeAllTokens(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        user.setTokensValidAfter(now);
+        refreshTokenRepository.revokeAllForUser(user.getId(), now);
+
+        UUID userId = user.getId();
+        long validAfter = toEpochMilli(now);
+        afterCommit(() -> watermarks.merge(userId, validAfter, Math::max));
+    }
+
+    /**
+     * Adds revocations made on other nodes since the last refresh
+     */
+    public void refresh() {
+        if (revokedTokens.isSaturated()) {
+            rebuild();
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = syncedFrom.minus(REFRESH_OVERLAP);
+        for (UUID tokenId : revokedTokenRepository.findIdsRevokedSince(since, now)) {
+            // The overlap re-reads recent rows; skipping known ones keeps the size count honest
+            if (!revokedTokens.mightContain(tokenId)) {
+                revokedTokens.add(tokenId);
+            }
+            confirmed.invalidate(tokenId);
+        }
+
+        Map<UUID, Long> current = watermarks;
+        for (TokenWatermarkView watermark : userRepository.findTokenWatermarksSince(since)) {
+            current.merge(watermark.getUserId(), toEpochMilli(watermark.getTokensValidAfter()), Math::max);
+        }
+        long expiredBefore = toEpochMilli(now.minus(tokenLifetime));
+        current.values().removeIf(validAfter -> validAfter < expiredBefore);
+        syncedFrom = now;
+    }
+
+    /**
+     * Purges expired revocations and reloads everything into a filter sized for the current count
+     */
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(now));
+
+        List<UUID> tokenIds = revokedTokenRepository.findUnexpiredIds(now);
+        UuidBloomFilter filter = new UuidBloomFilter(Math.max(expectedRevocations, tokenIds.size() * 2), falsePositiveRate);
+        tokenIds.forEach(filter::add);
+
+        Map<UUID, Long> reloaded = new ConcurrentHashMap<>();
+        for (TokenWatermarkView watermark : userRepository.findTokenWatermarksSince(now.minus(tokenLifetime))) {
+            reloaded.put(watermark.getUserId(), toEpochMilli(watermark.getTokensValidAfter()));
+        }
+
+        revokedTokens = filter;
+        watermarks = reloaded;
+        confirmed.invalidateAll();
+        syncedFrom = now;
+        log.debug("Loaded {} revoked tokens and {} user watermarks, purged {} expired", tokenIds.size(), reloaded.size(), purged);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static Counter rejectionCounter(String reason, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.token.revocation.rejected")
+                .description("Requests rejected because their token was revoked")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package io.flowr.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps this node's revocation state in step with the database: a cheap
+ * incremental refresh every few seconds bounds how long a token revoked on
+ * another node stays usable here, and a periodic rebuild purges expired
+ * revocations and refresh tokens and resizes the bloom filter.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "token-revocation.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationSync {
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-ms}", initialDelayString = "${token-revocation.refresh-ms}")
+    public void refresh() {
+        tokenRevocationService.refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${token-revocation.rebuild-ms}", initialDelayString = "${token-revocation.rebuild-ms}")
+    public void rebuild() {
+        tokenRevocationService.rebuild();
+        refreshTokenService.purgeExpired();
+    }
+}
@@ -0,0 +1,117 @@
+package io.flowr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.flowr.entity.User;
+import io.flowr.repository.UserRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Caches active users with their organization, keyed by email.
+ * A login reads the user twice (UserDetailsService, then AuthService) and
+ * used to lazily load the organization on top; with this cache that is one
+ * query on a miss and none on a hit. Inactive or unknown emails are not cached.
+ * Anything that changes a cached field must call {@link #evict(String)}.
+ * Users changed on other nodes are dropped by id when their notification arrives.
+ */
+@Service
+public class UserCache implements ChangeSubscriber {
+    private final UserRepository userRepository;
+    private final Cache<String, CachedUser> cache;
+
+    public record CachedUser(
+            UUID id,
+            String name,
+            String email,
+            String passwordHash,
+            Enums.Role role,
+            boolean active,
+            boolean emailVerified,
+            UUID organizationId,
+            String organizationName
+    ) {
+        static CachedUser of(User user) {
+            return new CachedUser(
+                    user.getId(),
+                    user.getName(),
+                    user.getEmail(),
+                    user.getPasswordHash(),
+                    user.getRole(),
+                    user.getIsActive(),
+                    user.getEmailVerified(),
+                    user.getOrganization().getId(),
+                    user.getOrganization().getName()
+            );
+        }
+    }
+
+    public UserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${user-cache.max-size}") long maxSize,
+            @Value("${user-cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<CachedUser> findActiveByEmail(String email) {
+        return Optional.ofNullable(cache.get(email, key -> userRepository.fetchActiveByEmail(key)
+                .map(CachedUser::of)
+                .orElse(null)));
+    }
+
+    /**
+     * Drops the entry now and again once the surrounding transaction commits,
+     * so a concurrent login cannot re-cache the row as it was before the change.
+     */
+    public void evict(String email) {
+        cache.invalidate(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(email);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void onChanges(List<ChangeNotification> changes) {
+        Set<UUID> userIds = new HashSet<>();
+        for (ChangeNotification change : changes) {
+            if (change.type() == Enums.ChangeType.USER) {
+                userIds.add(change.id());
+            }
+        }
+        // Keyed by email, which the notification does not carry and may itself have changed
+        if (!userIds.isEmpty()) {
+            cache.asMap().values().removeIf(user -> userIds.contains(user.id()));
+        }
+    }
+
+    @Override
+    public void onResync() {
+        cache.invalidateAll();
+    }
+}
@@ -1,12 +1,14 @@
 package io.flowr.service;
 
 import io.flowr.dto.auth.PasswordDto;
+import io.flowr.dto.common.ChangeStampView;
 import io.flowr.dto.user.InviteDto;
 import io.flowr.dto.user.ProfileDto;
 import io.flowr.entity.Organization;
 import io.flowr.entity.User;
 import io.flowr.repository.OrganizationRepository;
 import io.flowr.repository.UserRepository;
+import io.flowr.utils.ETagUtils;
 import io.flowr.utils.Enums;
 import io.flowr.utils.SecurityUtils;
 import jakarta.transaction.Transactional;
@@ -27,6 +29,20 @@ public class UserService {
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final UserCache userCache;
+    private final EmailService emailService;
+    private final TokenRevocationService tokenRevocationService;
+
+    /**
+     * ETag of getCurrentUser(userId) from one aggregate query, without loading the user
+     */
+    public String getCurrentUserETag(UUID userId) {
+        ChangeStampView stamp = userRepository.findProfileStamp(userId);
+        if (stamp.getCount() == 0) {
+            throw new RuntimeException("User not found");
+        }
+        return ETagUtils.of("profile", userId, stamp.getChecksum());
+    }
 
     public ProfileDto.Response getCurrentUser(UUID userId) {
         User user = userRepository.findById(userId)
@@ -52,6 +68,7 @@ public class UserService {
             user.setName(request.getName());
             user.setAvatarUrl(request.getAvatarUrl());
             userRepository.save(user);
+            userCache.evict(user.getEmail());
 
             log.info("User profile edited successfully: {}", user.getEmail());
         } catch (Exception e) {
@@ -63,7 +80,7 @@ public class UserService {
 
     public void acceptInvitation(String token) {
         try {
-            var claims = jwtService.validateAuthToken(token);
+            var claims = jwtService.validateInvitationToken(token);
 
             String email = claims.getSubject() == null ? "" : claims.getSubject();
             String userId = claims.get("userId", String.class);
@@ -86,6 +103,8 @@ public class UserService {
             user.setEmailVerified(true);
             user.setIsActive(true);
             userRepository.save(user);
+            userCache.evict(user.getEmail());
+            emailService.sendWelcomeEmail(user.getEmail(), user.getName());
 
             log.info("Invitation accepted successfully: {}", user.getEmail());
 
@@ -104,7 +123,10 @@ public class UserService {
         }
 
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
+        tokenRevocationService.revokeAllTokens(user);
         userRepository.save(user);
+        userCache.evict(user.getEmail());
+        emailService.sendPasswordChangeNotification(user.getEmail());
 
         log.info("Password changed for user: {}", user.getEmail());
     }
@@ -131,14 +153,15 @@ public class UserService {
 
         user = userRepository.save(user);
 
-        String invitationToken = jwtService.generateToken(
+        String invitationToken = jwtService.generateInvitationToken(
                 user.getEmail(),
                 user.getId().toString(),
-                user.getRole().name(),
                 user.getOrganization().getId().toString()
         );
 
-        log.info("User invited: {} by {}. Invitation Token: {}", user.getEmail(), SecurityUtils.getCurrentUserEmail(), invitationToken);
+        emailService.sendInvitationEmail(user.getEmail(), user.getName(), invitationToken);
+
+        log.info("User invited: {} by {}", user.getEmail(), SecurityUtils.getCurrentUserEmail());
 
         return InviteDto.Response.builder()
                 .message("Invitation sent successfully")
@@ -185,7 +208,9 @@ public class UserService {
             }
 
             user.setRole(newRole);
+            tokenRevocationService.revokeAllTokens(user);
             userRepository.save(user);
+            userCache.evict(user.getEmail());
             log.info("Role updated for user: {} to {}", user.getEmail(), newRole);
         } catch (IllegalArgumentException e) {
             log.error("Invalid role provided: {}", request.getRole());
@@ -0,0 +1,119 @@
+package io.flowr.service;
+
+import io.flowr.dto.workflow.WorkflowCountView;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.repository.WorkflowRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Workflow counts per organization by status and priority, read from a summary
+ * table that database triggers keep current (see V9__workflow_status_counts.sql).
+ * A dashboard read touches at most one row per status and priority plus the
+ * pending deltas, however many workflows the organization has. The fold keeps
+ * deltas few; reconciliation recounts from the workflows table and repairs
+ * drift, e.g. after the triggers were disabled for a bulk load. Both run on
+ * every node but take one advisory lock first, and skip the run when another
+ * node holds it, so they never repeat a repair or deadlock on summary rows.
+ */
+@Service
+@Slf4j
+public class WorkflowDashboardService {
+    static final long STATUS_COUNTS_LOCK = 0x666c6f77725f7763L;
+
+    private final WorkflowRepository workflowRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int foldBatchSize;
+    private final Counter driftedRows;
+
+    public WorkflowDashboardService(
+            WorkflowRepository workflowRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.dashboard.fold-batch-size}") int foldBatchSize
+    ) {
+        this.workflowRepository = workflowRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.foldBatchSize = foldBatchSize;
+        this.driftedRows = Counter.builder("flowr.workflow.dashboard.drift")
+                .description("Summary rows reconciliation found wrong and repaired")
+                .register(meterRegistry);
+    }
+
+    public WorkflowDto.Dashboard getDashboard(UUID organizationId) {
+        Map<Enums.WorkflowStatus, Long> byStatus = new EnumMap<>(Enums.WorkflowStatus.class);
+        Map<Enums.Priority, Long> byPriority = new EnumMap<>(Enums.Priority.class);
+        for (Enums.WorkflowStatus status : Enums.WorkflowStatus.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Enums.Priority priority : Enums.Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+
+        long total = 0;
+        long unprioritized = 0;
+        for (WorkflowCountView count : workflowRepository.findStatusCounts(organizationId)) {
+            if (count.getCount() == 0) {
+                continue;
+            }
+            total += count.getCount();
+            byStatus.merge(Enums.WorkflowStatus.valueOf(count.getStatus()), count.getCount(), Long::sum);
+            if (count.getPriority().isEmpty()) {
+                unprioritized += count.getCount();
+            } else {
+                byPriority.merge(Enums.Priority.valueOf(count.getPriority()), count.getCount(), Long::sum);
+            }
+        }
+
+        return WorkflowDto.Dashboard.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byPriority(byPriority)
+                .unprioritized(unprioritized)
+                .build();
+    }
+
+    /**
+     * Folds pending deltas into the summary, a batch per transaction until none are left
+     */
+    public void foldDeltas() {
+        int batches = 0;
+        while (Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                workflowRepository.tryLockStatusCounts(STATUS_COUNTS_LOCK)
+                        && workflowRepository.foldStatusCountDeltas(foldBatchSize) > 0))) {
+            batches++;
+        }
+        log.debug("Folded {} batches of workflow count deltas", batches);
+    }
+
+    /**
+     * Recounts every organization from the workflows table and repairs rows that drifted;
+     * returns 0 without recounting while another node folds or reconciles
+     */
+    public int reconcile() {
+        int drifted = transactionTemplate.execute(status -> {
+            if (!workflowRepository.tryLockStatusCounts(STATUS_COUNTS_LOCK)) {
+                log.debug("Workflow counts are being folded or reconciled elsewhere, skipping");
+                return 0;
+            }
+            int repaired = workflowRepository.reconcileStatusCounts();
+            workflowRepository.deleteEmptyStatusCounts();
+            return repaired;
+        });
+        if (drifted > 0) {
+            driftedRows.increment(drifted);
+            log.warn("Repaired {} drifted workflow count rows", drifted);
+        }
+        return drifted;
+    }
+}
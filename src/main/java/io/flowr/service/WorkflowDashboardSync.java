@@ -0,0 +1,27 @@
+package io.flowr.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Folds workflow count deltas every few seconds, so dashboard reads stay
+ * cheap, and reconciles the counts with the workflows table now and then.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "workflow.dashboard.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkflowDashboardSync {
+    private final WorkflowDashboardService workflowDashboardService;
+
+    @Scheduled(fixedDelayString = "${workflow.dashboard.fold-ms}", initialDelayString = "${workflow.dashboard.fold-ms}")
+    public void fold() {
+        workflowDashboardService.foldDeltas();
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.dashboard.reconcile-ms}", initialDelayString = "${workflow.dashboard.reconcile-ms}")
+    public void reconcile() {
+        workflowDashboardService.reconcile();
+    }
+}
@@ -0,0 +1,212 @@
+package io.flowr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.flowr.dto.workflow.WorkflowDetailsDto;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Caches rendered workflow details by workflow id: an in-process Caffeine
+ * cache, backed by a {@link WorkflowDetailsStore} when one is configured.
+ *
+ * Every {@link WorkflowChangedEvent} drops the workflow at once and again when
+ * the changing transaction completes. Each id maps to a generation stripe that
+ * every drop bumps; a load is only stored if its stripe did not move while it
+ * ran, checked atomically with the cache write, so a read that overlapped a
+ * commit cannot cache what it saw before. Workflows changed in the current
+ * transaction bypass the cache. The TTL bounds staleness from changes that
+ * publish no event, such as a renamed user.
+ * Changes committed on other nodes arrive through {@link ChangeNotificationService}.
+ */
+@Service
+public class WorkflowDetailsCache implements ChangeSubscriber {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<UUID, CachedDetails> cache;
+    private final WorkflowDetailsStore store;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter storeHits;
+    private final Counter storeMisses;
+    private final Counter racedLoads;
+
+    public record CachedDetails(UUID organizationId, String etag, WorkflowDetailsDto.Response response) {
+    }
+
+    public WorkflowDetailsCache(
+            ObjectProvider<WorkflowDetailsStore> store,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.details-cache.max-size}") long maxSize,
+            @Value("${workflow.details-cache.ttl-seconds}") long ttlSeconds
+    ) {
+        this.store = store.getIfAvailable();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "workflowDetails");
+        this.storeHits = storeCounter("hit", meterRegistry);
+        this.storeMisses = storeCounter("miss", meterRegistry);
+        this.racedLoads = Counter.builder("flowr.workflow.details-cache.raced-loads")
+                .description("Loads not cached because the workflow changed while they ran")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached details, or loads them and caches the result. The loader
+     * must read committed state, so it has to run in its own transaction.
+     */
+    public CachedDetails get(UUID workflowId, Supplier<CachedDetails> loader) {
+        if (changedInCurrentTransaction(workflowId)) {
+            return loader.get();
+        }
+
+        CachedDetails cached = cache.getIfPresent(workflowId);
+        if (cached != null) {
+            return cached;
+        }
+
+        int stripe = stripe(workflowId);
+        long generation = generations.get(stripe);
+        if (store != null) {
+            Optional<CachedDetails> shared = store.get(workflowId);
+            if (shared.isPresent()) {
+                storeHits.increment();
+                cacheIfCurrent(workflowId, stripe, generation, shared.get());
+                return shared.get();
+            }
+            storeMisses.increment();
+        }
+
+        CachedDetails loaded = loader.get();
+        if (!cacheIfCurrent(workflowId, stripe, generation, loaded)) {
+            racedLoads.increment();
+            return loaded;
+        }
+        if (store != null) {
+            store.put(workflowId, loaded);
+            // An invalidation that ran before the put could not evict it from the store
+            if (generations.get(stripe) != generation) {
+                store.evict(workflowId);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Caches the details unless the stripe moved since the load began. The check runs
+     * inside compute, which an invalidation of the same id waits for, so an invalidation
+     * either lands first and is seen, or lands after and removes the entry.
+     */
+    private boolean cacheIfCurrent(UUID workflowId, int stripe, long generation, CachedDetails details) {
+        boolean[] cached = {false};
+        cache.asMap().compute(workflowId, (id, existing) -> {
+            if (generations.get(stripe) != generation) {
+                return existing;
+            }
+            cached[0] = true;
+            return details;
+        });
+        return cached[0];
+    }
+
+    @EventListener
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        evict(event.workflowId());
+    }
+
+    /**
+     * Drops the workflow now and again once the surrounding transaction completes
+     */
+    public void evict(UUID workflowId) {
+        invalidate(workflowId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            changedInTransaction().add(workflowId);
+        }
+    }
+
+    @Override
+    public void onChanges(List<ChangeNotification> changes) {
+        for (ChangeNotification change : changes) {
+            if (change.type() == Enums.ChangeType.WORKFLOW) {
+                invalidate(change.id());
+            }
+        }
+    }
+
+    @Override
+    public void onResync() {
+        for (int stripe = 0; stripe < GENERATION_STRIPES; stripe++) {
+            generations.incrementAndGet(stripe);
+        }
+        cache.invalidateAll();
+    }
+
+    private void invalidate(UUID workflowId) {
+        generations.incrementAndGet(stripe(workflowId));
+        cache.invalidate(workflowId);
+        if (store != null) {
+            store.evict(workflowId);
+        }
+    }
+
+    private boolean changedInCurrentTransaction(UUID workflowId) {
+        @SuppressWarnings("unchecked")
+        Set<UUID> changed = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        return changed != null && changed.contains(workflowId);
+    }
+
+    /**
+     * Ids changed in the current transaction, bound to it on first use and
+     * invalidated together when it completes, committed or not
+     */
+    private Set<UUID> changedInTransaction() {
+        @SuppressWarnings("unchecked")
+        Set<UUID> changed = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (changed != null) {
+            return changed;
+        }
+
+        Set<UUID> created = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(WorkflowDetailsCache.this);
+                created.forEach(WorkflowDetailsCache.this::invalidate);
+            }
+        });
+        return created;
+    }
+
+    private static int stripe(UUID workflowId) {
+        long bits = workflowId.getMostSignificantBits() ^ workflowId.getLeastSignificantBits();
+        return (int) (bits ^ (bits >>> 32)) & (GENERATION_STRIPES - 1);
+    }
+
+    private static Counter storeCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.workflow.details-cache.store")
+                .description("Second level lookups after an in-process miss")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
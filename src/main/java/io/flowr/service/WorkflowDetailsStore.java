@@ -0,0 +1,19 @@
+package io.flowr.service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Optional second cache level for rendered workflow details, shared between
+ * nodes (e.g. backed by Redis). Without such a bean only the in-process
+ * cache is used. Implementations should expire entries after a bounded time,
+ * since a node can store a value a moment after another node evicted it.
+ */
+public interface WorkflowDetailsStore {
+
+    Optional<WorkflowDetailsCache.CachedDetails> get(UUID workflowId);
+
+    void put(UUID workflowId, WorkflowDetailsCache.CachedDetails details);
+
+    void evict(UUID workflowId);
+}
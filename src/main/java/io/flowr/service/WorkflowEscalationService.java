@@ -0,0 +1,205 @@
+package io.flowr.service;
+
+import io.flowr.dto.workflow.OverdueView;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.repository.WorkflowRepository;
+import io.flowr.repository.WorkflowStepRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Escalates overdue workflows and steps.
+ * Each run walks the overdue rows in (dueAt, id) keyset batches, one short
+ * transaction per batch. A batch is claimed with FOR UPDATE SKIP LOCKED, so
+ * several nodes can run the job at once: rows locked by another node are
+ * skipped, and once committed they carry escalated_at and drop out of the
+ * partial scan index. Rows whose notification fails, or that cannot be
+ * notified because no mail is configured, stay unmarked and are retried on
+ * the next run. The mark is a bulk update that entity listeners
+ * never see, so a {@link WorkflowChangedEvent} is published for each marked row.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "workflow.escalation.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkflowEscalationService {
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowStepRepository workflowStepRepository;
+    private final ObjectProvider<EmailService> emailService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final MeterRegistry meterRegistry;
+    private final Counter escalatedWorkflows;
+    private final Counter escalatedSteps;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private record Cursor(LocalDateTime dueAt, UUID id) {
+    }
+
+    private interface BatchClaim {
+        List<OverdueView> claim(LocalDateTime now, LocalDateTime afterDueAt, UUID afterId, int limit);
+    }
+
+    private interface MarkEscalated {
+        int markEscalated(List<UUID> ids, LocalDateTime now);
+    }
+
+    public WorkflowEscalationService(
+            WorkflowRepository workflowRepository,
+            WorkflowStepRepository workflowStepRepository,
+            ObjectProvider<EmailService> emailService,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.escalation.batch-size}") int batchSize,
+            @Value("${workflow.escalation.max-batches}") int maxBatches
+    ) {
+        this.workflowRepository = workflowRepository;
+        this.workflowStepRepository = workflowStepRepository;
+        this.emailService = emailService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.meterRegistry = meterRegistry;
+        this.escalatedWorkflows = escalatedCounter("workflow", meterRegistry);
+        this.escalatedSteps = escalatedCounter("step", meterRegistry);
+        Gauge.builder("flowr.escalation.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest overdue item not yet escalated, as of the last run")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.escalation.interval-ms}", initialDelayString = "${workflow.escalation.interval-ms}")
+    public void escalateOverdue() {
+        // Marking rows nobody was told about would hide them for good; leave them for when mail works
+        if (emailService.getIfAvailable() == null) {
+            log.warn("No EmailService configured, overdue workflows and steps stay pending");
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int workflows = scan(Enums.WorkflowChangeKind.WORKFLOW, now, workflowRepository::claimOverdueWorkflows, workflowRepository::markEscalated,
+                this::notifyWorkflowOverdue, escalatedWorkflows);
+        int steps = scan(Enums.WorkflowChangeKind.STEP, now, workflowStepRepository::claimOverdueSteps, workflowStepRepository::markEscalated,
+                this::notifyStepOverdue, escalatedSteps);
+
+        updateLag(now);
+        if (workflows > 0 || steps > 0) {
+            log.info("Escalated {} overdue workflows and {} overdue steps", workflows, steps);
+        }
+    }
+
+    private int scan(
+            Enums.WorkflowChangeKind kind,
+            LocalDateTime now,
+            BatchClaim claim,
+            MarkEscalated mark,
+            Predicate<OverdueView> notifier,
+            Counter counter
+    ) {
+        Timer batchTimer = Timer.builder("flowr.escalation.batch")
+                .description("Duration of one escalation batch: claim, notify and mark")
+                .tag("kind", kind.name().toLowerCase())
+                .register(meterRegistry);
+
+        Cursor cursor = new Cursor(null, null);
+        int escalated = 0;
+        for (int batch = 0; batch < maxBatches && cursor != null; batch++) {
+            Cursor after = cursor;
+            int[] marked = new int[1];
+            cursor = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<OverdueView> claimed = claim.claim(now, after.dueAt(), after.id(), batchSize);
+                if (claimed.isEmpty()) {
+                    return null;
+                }
+
+                List<OverdueView> notified = new ArrayList<>(claimed.size());
+                for (OverdueView overdue : claimed) {
+                    if (notifier.test(overdue)) {
+                        notified.add(overdue);
+                    }
+                }
+                if (!notified.isEmpty()) {
+                    marked[0] = mark.markEscalated(notified.stream().map(OverdueView::getId).toList(), now);
+                    for (OverdueView overdue : notified) {
+                        eventPublisher.publishEvent(new WorkflowChangedEvent(overdue.getWorkflowId(), kind, overdue.getId(), overdue.getStatus()));
+                    }
+                }
+
+                OverdueView last = claimed.get(claimed.size() - 1);
+                return claimed.size() < batchSize ? null : new Cursor(last.getDueAt(), last.getId());
+            }));
+            escalated += marked[0];
+        }
+
+        counter.increment(escalated);
+        return escalated;
+    }
+
+    private boolean notifyWorkflowOverdue(OverdueView overdue) {
+        return send(overdue, email -> email.sendWorkflowOverdueNotification(
+                overdue.getNotifyEmail(), overdue.getWorkflowTitle(), overdue.getDueAt()));
+    }
+
+    private boolean notifyStepOverdue(OverdueView overdue) {
+        return send(overdue, email -> email.sendStepOverdueNotification(
+                overdue.getNotifyEmail(), overdue.getWorkflowTitle(), overdue.getStepName(), overdue.getDueAt()));
+    }
+
+    private boolean send(OverdueView overdue, Consumer<EmailService> sender) {
+        EmailService email = emailService.getIfAvailable();
+        if (email == null) {
+            log.warn("No EmailService configured, overdue {} ({}) left pending", overdue.getId(), overdue.getNotifyEmail());
+            return false;
+        }
+
+        try {
+            sender.accept(email);
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Failed to send overdue notification for {}: {}", overdue.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void updateLag(LocalDateTime now) {
+        Optional<LocalDateTime> oldestWorkflow = workflowRepository.findOldestUnescalatedDueAt(now);
+        Optional<LocalDateTime> oldestStep = workflowStepRepository.findOldestUnescalatedDueAt(now);
+        LocalDateTime oldest = oldestWorkflow
+                .map(workflow -> oldestStep.filter(step -> step.isBefore(workflow)).orElse(workflow))
+                .or(() -> oldestStep)
+                .orElse(now);
+        lagSeconds.set(Duration.between(oldest, now).toSeconds());
+    }
+
+    private static Counter escalatedCounter(String kind, MeterRegistry meterRegistry) {
+        return Counter.builder("flowr.escalation.escalated")
+                .description("Overdue items escalated")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+}
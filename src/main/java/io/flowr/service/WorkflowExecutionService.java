@@ -0,0 +1,280 @@
+package io.flowr.service;
+
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.repository.WorkflowRepository;
+import io.flowr.repository.WorkflowStepActionRepository;
+import io.flowr.repository.WorkflowStepRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Advances workflows: action -> step -> workflow.
+ * Each transition runs in its own short transaction guarded by @Version on the
+ * three entities. Completing an action writes the action row, then locks the
+ * step row and completes the step with a conditional update that only succeeds
+ * while it is in progress and no action is left. Completions of one step only
+ * queue on that lock for the final statements, never conflict, and the action
+ * and the step advance commit or roll back together. The lock makes the second
+ * of two assignees finishing the last two actions wait for the first to commit,
+ * so it sees both done and advances the workflow. Conflicts that do happen,
+ * e.g. with escalation bumping the workflow version, retry the whole transition
+ * with jittered backoff.
+ */
+@Service
+@Slf4j
+public class WorkflowExecutionService {
+    private static final long MAX_BACKOFF_MILLIS = 200;
+
+    private final WorkflowRepository workflowRepository;
+    private final WorkflowStepRepository workflowStepRepository;
+    private final WorkflowStepActionRepository workflowStepActionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final Counter conflictCounter;
+
+    public WorkflowExecutionService(
+            WorkflowRepository workflowRepository,
+            WorkflowStepRepository workflowStepRepository,
+            WorkflowStepActionRepository workflowStepActionRepository,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.execution.max-attempts}") int maxAttempts,
+            @Value("${workflow.execution.backoff-millis}") long backoffMillis
+    ) {
+        this.workflowRepository = workflowRepository;
+        this.workflowStepRepository = workflowStepRepository;
+        this.workflowStepActionRepository = workflowStepActionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.conflictCounter = Counter.builder("flowr.workflow.execution.conflicts")
+                .description("Workflow transitions retried after an optimistic lock conflict")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Moves a draft workflow to ACTIVE and opens its first step. Only the initiator can start it.
+     */
+    public WorkflowDto.TransitionResponse startWorkflow(UUID workflowId, UUID userId, UUID organizationId) {
+        return executeWithRetry(() -> {
+            Workflow workflow = workflowRepository.findById(workflowId)
+                    .filter(found -> found.getOrganization().getId().equals(organizationId))
+                    .orElseThrow(() -> new RuntimeException("Workflow not found"));
+
+            if (!workflow.getInitiatedBy().getId().equals(userId)) {
+                throw new RuntimeException("Only the initiator can start this workflow");
+            }
+            if (workflow.getStatus() != Enums.WorkflowStatus.DRAFT) {
+                throw new RuntimeException("Only draft workflows can be started");
+            }
+
+            List<WorkflowStep> steps = workflowStepRepository.findByWorkflowIdOrderByStepOrderAsc(workflowId);
+            if (steps.isEmpty()) {
+                throw new RuntimeException("Workflow has no steps");
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            workflow.setStatus(Enums.WorkflowStatus.ACTIVE);
+            workflow.setStartedAt(now);
+            activateStep(workflow, steps.get(0), now);
+
+            log.info("Workflow {} started", workflowId);
+            return toResponse(workflow, null);
+        });
+    }
+
+    public WorkflowDto.TransitionResponse completeAction(UUID workflowId, UUID stepId, UUID actionId, UUID userId, UUID organizationId) {
+        return transitionAction(workflowId, stepId, actionId, userId, organizationId, Enums.ActionStatus.COMPLETED);
+    }
+
+    /**
+     * Skips an optional action. Required actions can only be completed.
+     */
+    public WorkflowDto.TransitionResponse skipAction(UUID workflowId, UUID stepId, UUID actionId, UUID userId, UUID organizationId) {
+        return transitionAction(workflowId, stepId, actionId, userId, organizationId, Enums.ActionStatus.SKIPPED);
+    }
+
+    private WorkflowDto.TransitionResponse transitionAction(
+            UUID workflowId,
+            UUID stepId,
+            UUID actionId,
+            UUID userId,
+            UUID organizationId,
+            Enums.ActionStatus target
+    ) {
+        return executeWithRetry(() -> completeStepIfDone(stepId,
+                updateAction(workflowId, stepId, actionId, userId, organizationId, target)));
+    }
+
+    private WorkflowDto.TransitionResponse updateAction(
+            UUID workflowId,
+            UUID stepId,
+            UUID actionId,
+            UUID userId,
+            UUID organizationId,
+            Enums.ActionStatus target
+    ) {
+        WorkflowStep step = workflowStepRepository.findWithWorkflowById(stepId)
+                .filter(found -> found.getWorkflow().getId().equals(workflowId))
+                .filter(found -> found.getWorkflow().getOrganization().getId().equals(organizationId))
+                .orElseThrow(() -> new RuntimeException("Step not found"));
+        Workflow workflow = step.getWorkflow();
+
+        if (workflow.getStatus() != Enums.WorkflowStatus.ACTIVE) {
+            throw new RuntimeException("Workflow is not active");
+        }
+        if (step.getStatus() != Enums.StepStatus.IN_PROGRESS) {
+            throw new RuntimeException("Step is not in progress");
+        }
+        if (step.getAssignedTo() != null && !step.getAssignedTo().getId().equals(userId)) {
+            throw new RuntimeException("You are not assigned to this step");
+        }
+
+        WorkflowStepAction action = workflowStepActionRepository.findById(actionId)
+                .filter(found -> found.getStep().getId().equals(stepId))
+                .orElseThrow(() -> new RuntimeException("Action not found"));
+
+        if (isDone(action)) {
+            throw new RuntimeException("Action already " + action.getStatus().name().toLowerCase());
+        }
+        if (target == Enums.ActionStatus.SKIPPED && !action.getIsOptional()) {
+            throw new RuntimeException("Only optional actions can be skipped");
+        }
+
+        action.setStatus(target);
+        action.setCompletedAt(LocalDateTime.now());
+
+        return toResponse(workflow, action);
+    }
+
+    /**
+     * Completes the step and advances the workflow if no action of the step is left;
+     * otherwise returns the action's response unchanged
+     */
+    private WorkflowDto.TransitionResponse completeStepIfDone(UUID stepId, WorkflowDto.TransitionResponse actionResponse) {
+        LocalDateTime now = LocalDateTime.now();
+        workflowStepRepository.lockForCompletion(stepId);
+        if (workflowStepRepository.completeIfActionsDone(stepId, now) == 0) {
+            return actionResponse;
+        }
+
+        WorkflowStep step = workflowStepRepository.findWithWorkflowById(stepId)
+                .orElseThrow(() -> new RuntimeException("Step not found"));
+        Workflow workflow = step.getWorkflow();
+        eventPublisher.publishEvent(new WorkflowChangedEvent(workflow.getId(), Enums.WorkflowChangeKind.STEP, stepId, step.getStatus().name()));
+        advance(workflow, step, now);
+
+        WorkflowDto.TransitionResponse response = toResponse(workflow, null);
+        response.setActionId(actionResponse.getActionId());
+        response.setActionStatus(actionResponse.getActionStatus());
+        return response;
+    }
+
+    /**
+     * Opens a step; a step without actions has nothing to wait for and completes straight away.
+     */
+    private void activateStep(Workflow workflow, WorkflowStep step, LocalDateTime now) {
+        step.setStatus(Enums.StepStatus.IN_PROGRESS);
+        step.setAssignedAt(now);
+        workflow.setCurrentStep(step);
+
+        if (workflowStepActionRepository.findByStepIdOrderByActionOrderAsc(step.getId()).isEmpty()) {
+            completeStep(workflow, step, now);
+        }
+    }
+
+    private void completeStep(Workflow workflow, WorkflowStep step, LocalDateTime now) {
+        step.setStatus(Enums.StepStatus.COMPLETED);
+        step.setCompletedAt(now);
+        advance(workflow, step, now);
+    }
+
+    /**
+     * Opens the step after a completed one, or completes the workflow after its last step
+     */
+    private void advance(Workflow workflow, WorkflowStep step, LocalDateTime now) {
+        workflowStepRepository.findFirstByWorkflowIdAndStepOrderGreaterThanOrderByStepOrderAsc(workflow.getId(), step.getStepOrder())
+                .ifPresentOrElse(
+                        next -> activateStep(workflow, next, now),
+                        () -> {
+                            workflow.setStatus(Enums.WorkflowStatus.COMPLETED);
+                            workflow.setCompletedAt(now);
+                            workflow.setCurrentStep(null);
+                            log.info("Workflow {} completed", workflow.getId());
+                        }
+                );
+    }
+
+    private boolean isDone(WorkflowStepAction action) {
+        return action.getStatus() == Enums.ActionStatus.COMPLETED || action.getStatus() == Enums.ActionStatus.SKIPPED;
+    }
+
+    private WorkflowDto.TransitionResponse toResponse(Workflow workflow, WorkflowStepAction action) {
+        WorkflowStep currentStep = workflow.getCurrentStep();
+
+        return WorkflowDto.TransitionResponse.builder()
+                .workflowId(workflow.getId())
+                .status(workflow.getStatus())
+                .completedAt(workflow.getCompletedAt())
+                .currentStep(currentStep == null ? null : WorkflowDto.WorkFlowStepSummary.builder()
+                        .id(currentStep.getId())
+                        .name(currentStep.getName())
+                        .stepOrder(currentStep.getStepOrder())
+                        .status(currentStep.getStatus())
+                        .build())
+                .actionId(action == null ? null : action.getId())
+                .actionStatus(action == null ? null : action.getStatus())
+                .build();
+    }
+
+    /**
+     * Runs the transition in a fresh transaction when called outside one, retrying on version conflicts.
+     * Validation failures are plain RuntimeExceptions and are not retried.
+     */
+    private <T> T executeWithRetry(Supplier<T> transition) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> transition.get());
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("Workflow transition gave up after {} conflicting attempts", attempt);
+                    throw new RuntimeException("Workflow was modified concurrently, please retry");
+                }
+                conflictCounter.increment();
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_MILLIS, backoffMillis << Math.min(attempt, 10));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while retrying workflow transition");
+        }
+    }
+}
@@ -1,50 +1,205 @@
 package io.flowr.service;
 
+import io.flowr.dto.common.ChangeStampView;
 import io.flowr.dto.workflow.WorkflowDetailsDto;
 import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.dto.workflow.WorkflowListView;
 import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
 import io.flowr.mapper.WorkflowDetailsMapper;
 import io.flowr.mapper.WorkflowListMapper;
 import io.flowr.repository.WorkflowRepository;
+import io.flowr.repository.WorkflowStepRepository;
+import io.flowr.utils.CursorUtils;
+import io.flowr.utils.ETagUtils;
+import io.flowr.utils.Enums;
+import io.flowr.utils.JsonUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class WorkflowService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_ADMIN_PAGE_SIZE = 200;
+    // Sorts after every stored (createdAt, id), so the first page is read like any other
+    private static final CursorUtils.Cursor FIRST_PAGE =
+            new CursorUtils.Cursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), new UUID(-1L, -1L));
+
     private final WorkflowRepository workflowRepository;
+    private final WorkflowStepRepository workflowStepRepository;
     private final WorkflowDetailsMapper detailsMapper;
     private final WorkflowListMapper listMapper;
+    private final JsonUtils jsonUtils;
+    private final WorkflowDetailsCache detailsCache;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * ETag of getWorkflowsByUserInvolvement(userId) from one aggregate query, without loading the list
+     */
+    public String getWorkflowsETag(UUID userId) {
+        ChangeStampView stamp = workflowRepository.findListStampByUserInvolvement(userId);
+        return ETagUtils.of("workflows", userId, stamp.getCount(), stamp.getChecksum());
+    }
 
     public List<WorkflowDto.Response> getWorkflowsByUserInvolvement(UUID userId) {
-        List<Workflow> workflows = workflowRepository.findWorkflowsByUserInvolvement(userId);
+        List<WorkflowListView> workflows = workflowRepository.findListViewsByUserInvolvement(userId);
 
         return workflows.stream()
-                .map(listMapper::toResponse)
+                .map(listMapper::fromView)
                 .collect(Collectors.toList());
     }
 
-    public List<WorkflowDto.Response> getAllWorkflows() {
-        List<Workflow> workflows = workflowRepository.findAll();
+    public WorkflowDto.CursorPage getWorkflowsByUserInvolvement(UUID userId, String cursor, int limit,
+                                                                Enums.WorkflowStatus status, Enums.Priority priority) {
+        CursorUtils.Cursor after = CursorUtils.decode(cursor);
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
 
-        return workflows.stream()
-                .map(listMapper::toResponse)
-                .collect(Collectors.toList());
+        List<WorkflowListView> workflows = findInvolvementPage(userId, after != null ? after : FIRST_PAGE,
+                status, priority, pageSize + 1);
+
+        boolean hasMore = workflows.size() > pageSize;
+        List<WorkflowListView> page = hasMore ? workflows.subList(0, pageSize) : workflows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            WorkflowListView last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return WorkflowDto.CursorPage.builder()
+                .items(page.stream().map(listMapper::fromView).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<WorkflowListView> findInvolvementPage(UUID userId, CursorUtils.Cursor after,
+                                                       Enums.WorkflowStatus status, Enums.Priority priority, int limit) {
+        if (status != null && priority != null) {
+            return workflowRepository.findInvolvementPageByStatusAndPriority(
+                    userId, status.name(), priority.name(), after.createdAt(), after.id(), limit);
+        }
+        if (status != null) {
+            return workflowRepository.findInvolvementPageByStatus(userId, status.name(), after.createdAt(), after.id(), limit);
+        }
+        if (priority != null) {
+            return workflowRepository.findInvolvementPageByPriority(userId, priority.name(), after.createdAt(), after.id(), limit);
+        }
+        return workflowRepository.findInvolvementPage(userId, after.createdAt(), after.id(), limit);
     }
-    
-    public WorkflowDetailsDto.Response getWorkflowDetails(UUID id) {
-        Workflow workflow = workflowRepository.findWorkflowById(id)
+
+    public WorkflowDto.PageResponse getOrganizationWorkflows(UUID organizationId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_ADMIN_PAGE_SIZE));
+        Page<WorkflowListView> workflows = workflowRepository.findListViewsByOrganization(organizationId, pageRequest);
+
+        return WorkflowDto.PageResponse.builder()
+                .items(workflows.stream().map(listMapper::fromView).collect(Collectors.toList()))
+                .page(workflows.getNumber())
+                .size(workflows.getSize())
+                .totalElements(workflows.getTotalElements())
+                .totalPages(workflows.getTotalPages())
+                .build();
+    }
+
+    /**
+     * Writes every workflow of an organization as newline-delimited JSON.
+     * Rows are read from a cursor-backed stream, so memory does not grow with organization size.
+     */
+    public void exportOrganizationWorkflows(UUID organizationId, OutputStream outputStream) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+
+        try (Stream<WorkflowListView> workflows = workflowRepository.streamListViewsByOrganization(organizationId)) {
+            Iterator<WorkflowListView> iterator = workflows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(jsonUtils.toJson(listMapper.fromView(iterator.next())));
+                writer.write('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to export workflows", e);
+        }
+    }
+
+    /**
+     * Served from {@link WorkflowDetailsCache}; a hit needs neither a query nor a transaction.
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public WorkflowDetailsDto.Response getWorkflowDetails(UUID id, UUID organizationId) {
+        return cachedWorkflowDetails(id, organizationId).response();
+    }
+
+    /**
+     * ETag of getWorkflowDetails(id, organizationId), kept next to the cached details
+     */
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public String getWorkflowDetailsETag(UUID id, UUID organizationId) {
+        return cachedWorkflowDetails(id, organizationId).etag();
+    }
+
+    private WorkflowDetailsCache.CachedDetails cachedWorkflowDetails(UUID id, UUID organizationId) {
+        WorkflowDetailsCache.CachedDetails details = detailsCache.get(id,
+                () -> transactionTemplate.execute(status -> loadWorkflowDetails(id)));
+
+        if (!details.organizationId().equals(organizationId)) {
+            throw new RuntimeException("Workflow not found");
+        }
+        return details;
+    }
+
+    private WorkflowDetailsCache.CachedDetails loadWorkflowDetails(UUID id) {
+        Workflow workflow = workflowRepository.findDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Workflow not found"));
 
-        return detailsMapper.toResponse(workflow);
+        // Populates stepActions on the steps already in the persistence context
+        workflowStepRepository.fetchStepActionsByWorkflowId(id);
+
+        return new WorkflowDetailsCache.CachedDetails(
+                workflow.getOrganization().getId(),
+                detailsETag(workflow),
+                detailsMapper.toResponse(workflow)
+        );
+    }
+
+    /**
+     * Hashes the updatedAt of every row the details are rendered from, all of them already loaded
+     */
+    private static String detailsETag(Workflow workflow) {
+        List<Object> parts = new ArrayList<>();
+        parts.add(workflow.getId());
+        parts.add(workflow.getUpdatedAt());
+        parts.add(workflow.getInitiatedBy().getUpdatedAt());
+        for (WorkflowStep step : workflow.getSteps()) {
+            parts.add(step.getUpdatedAt());
+            parts.add(step.getAssignedTo() != null ? step.getAssignedTo().getUpdatedAt() : null);
+            for (WorkflowStepAction action : step.getStepActions()) {
+                parts.add(action.getUpdatedAt());
+            }
+        }
+        return ETagUtils.of(parts.toArray());
     }
 }
 
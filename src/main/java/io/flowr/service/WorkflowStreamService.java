@@ -0,0 +1,327 @@
+package io.flowr.service;
+
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.dto.workflow.WorkflowInvolvementView;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.repository.WorkflowRepository;
+import io.flowr.utils.JsonUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes workflow changes to the users involved in them over server-sent events.
+ *
+ * Changes arrive as {@link WorkflowChangedEvent}s during the flush and are
+ * collected per transaction; only after commit are they handed to the
+ * dispatcher thread, which looks up who is involved in one query per batch
+ * and serializes each change once. Its queue is bounded; when it is full the
+ * batch is dropped and every connection is told to resync instead. Idle connections hold no thread: each one
+ * is an async request with a bounded buffer, drained by a small sender pool
+ * one connection at a time. A connection whose buffer overflows loses the
+ * buffered changes and gets a single resync event instead, telling the
+ * client to refetch. Heartbeats keep proxies from closing idle streams and
+ * find connections that went away. Changes committed on other nodes arrive
+ * through {@link ChangeNotificationService} and are dispatched the same way.
+ */
+@Service
+@Slf4j
+public class WorkflowStreamService implements ChangeSubscriber {
+    private static final String CHANGE_EVENT = "workflow";
+    private static final String RESYNC_EVENT = "resync";
+
+    private final WorkflowRepository workflowRepository;
+    private final JsonUtils jsonUtils;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxConnections;
+    private final ExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final Map<UUID, Set<Connection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final Counter sentEvents;
+    private final Counter overflows;
+    private final Counter droppedBatches;
+
+    public WorkflowStreamService(
+            WorkflowRepository workflowRepository,
+            JsonUtils jsonUtils,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.stream.timeout-ms}") long timeoutMillis,
+            @Value("${workflow.stream.buffer-size}") int bufferSize,
+            @Value("${workflow.stream.max-connections}") int maxConnections,
+            @Value("${workflow.stream.sender-threads}") int senderThreads,
+            @Value("${workflow.stream.dispatch-queue-size}") int dispatchQueueSize
+    ) {
+        this.workflowRepository = workflowRepository;
+        this.jsonUtils = jsonUtils;
+        this.timeoutMillis = timeoutMillis;
+        this.bufferSize = bufferSize;
+        this.maxConnections = maxConnections;
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueueSize), daemon("workflow-stream-dispatch"));
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemon("workflow-stream-send"));
+        this.sentEvents = Counter.builder("flowr.workflow.stream.sent")
+                .description("Change events written to workflow streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("flowr.workflow.stream.overflows")
+                .description("Buffers that overflowed and were replaced by a resync event")
+                .register(meterRegistry);
+        this.droppedBatches = Counter.builder("flowr.workflow.stream.dropped-batches")
+                .description("Change batches dropped because the dispatcher fell behind, replaced by a resync")
+                .register(meterRegistry);
+        Gauge.builder("flowr.workflow.stream.connections", connectionCount, AtomicInteger::get)
+                .description("Open workflow streams on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of changes to the workflows the user initiated or is assigned a step in
+     */
+    public SseEmitter subscribe(UUID userId) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new RuntimeException("Too many open streams, try again later");
+        }
+
+        Connection connection = new Connection(userId, new SseEmitter(timeoutMillis), bufferSize);
+        connectionsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(connection);
+        connection.emitter.onCompletion(() -> remove(connection));
+        connection.emitter.onTimeout(() -> remove(connection));
+        connection.emitter.onError(error -> remove(connection));
+        // Flushes the response headers, so the client sees the stream open before the first change
+        connection.offer(Message.HEARTBEAT);
+        return connection.emitter;
+    }
+
+    @EventListener
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        if (connectionCount.get() == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(List.of(event));
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<UUID, WorkflowChangedEvent> batch = (Map<UUID, WorkflowChangedEvent>) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            Map<UUID, WorkflowChangedEvent> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(List.copyOf(created.values()));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(WorkflowStreamService.this);
+                }
+            });
+            batch = created;
+        }
+        // A row written twice in one transaction is pushed once, with its final status
+        batch.remove(event.id());
+        batch.put(event.id(), event);
+    }
+
+    @Override
+    public void onChanges(List<ChangeNotification> changes) {
+        if (connectionCount.get() == 0) {
+            return;
+        }
+        List<WorkflowChangedEvent> events = changes.stream()
+                .map(ChangeNotification::workflowChange)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!events.isEmpty()) {
+            submit(events);
+        }
+    }
+
+    @Override
+    public void onResync() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.offer(Message.RESYNC)));
+    }
+
+    @Scheduled(fixedDelayString = "${workflow.stream.heartbeat-ms}", initialDelayString = "${workflow.stream.heartbeat-ms}")
+    public void heartbeat() {
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.offer(Message.HEARTBEAT)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        connectionsByUser.values().forEach(connections -> connections.forEach(connection -> connection.emitter.complete()));
+    }
+
+    private void submit(List<WorkflowChangedEvent> events) {
+        try {
+            dispatcher.execute(() -> dispatch(events));
+        } catch (RejectedExecutionException e) {
+            if (dispatcher.isShutdown()) {
+                log.debug("Workflow stream dispatcher is shut down, dropping {} changes", events.size());
+                return;
+            }
+            // Nobody can tell which clients the dropped changes were for, so all of them refetch
+            droppedBatches.increment();
+            log.warn("Workflow stream dispatcher is behind, dropping {} changes and resyncing clients", events.size());
+            onResync();
+        }
+    }
+
+    private void dispatch(List<WorkflowChangedEvent> events) {
+        try {
+            Set<UUID> workflowIds = new HashSet<>();
+            events.forEach(event -> workflowIds.add(event.workflowId()));
+
+            Map<UUID, List<UUID>> involved = new HashMap<>();
+            for (WorkflowInvolvementView involvement : workflowRepository.findInvolvedUsers(workflowIds)) {
+                if (connectionsByUser.containsKey(involvement.getUserId())) {
+                    involved.computeIfAbsent(involvement.getWorkflowId(), id -> new ArrayList<>()).add(involvement.getUserId());
+                }
+            }
+
+            for (WorkflowChangedEvent event : events) {
+                List<UUID> userIds = involved.get(event.workflowId());
+                if (userIds == null) {
+                    continue;
+                }
+                Message message = Message.change(jsonUtils.toJson(WorkflowDto.ChangeEvent.builder()
+                        .workflowId(event.workflowId())
+                        .kind(event.kind())
+                        .id(event.id())
+                        .status(event.status())
+                        .build()));
+                for (UUID userId : userIds) {
+                    connectionsByUser.getOrDefault(userId, Set.of()).forEach(connection -> connection.offer(message));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch {} workflow changes: {}", events.size(), e.getMessage());
+        }
+    }
+
+    private void remove(Connection connection) {
+        Collection<Connection> connections = connectionsByUser.get(connection.userId);
+        if (connections != null && connections.remove(connection)) {
+            connectionCount.decrementAndGet();
+            connectionsByUser.computeIfPresent(connection.userId, (id, remaining) -> remaining.isEmpty() ? null : remaining);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Message(String name, String data) {
+        static final Message HEARTBEAT = new Message(null, null);
+        static final Message RESYNC = new Message(RESYNC_EVENT, "{}");
+
+        static Message change(String data) {
+            return new Message(CHANGE_EVENT, data);
+        }
+    }
+
+    private final class Connection {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<Message> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Connection(UUID userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        void offer(Message message) {
+            if (!buffer.offer(message)) {
+                // The client is too far behind to catch up change by change
+                buffer.clear();
+                buffer.offer(Message.RESYNC);
+                overflows.increment();
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (buffer.isEmpty() || !draining.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                Message message;
+                while ((message = buffer.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                buffer.clear();
+                remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                draining.set(false);
+            }
+            // An offer that raced with the end of the loop may have found draining still set
+            scheduleDrain();
+        }
+
+        private void send(Message message) throws IOException {
+            if (message.name() == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            emitter.send(SseEmitter.event().name(message.name()).data(message.data()));
+            sentEvents.increment();
+        }
+    }
+}
@@ -1,21 +1,287 @@
 package io.flowr.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.flowr.dto.workflow.TemplateDto;
+import io.flowr.dto.workflow.TemplateHeaderView;
 import io.flowr.dto.workflow.TemplateStructure;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.entity.User;
 import io.flowr.entity.WorkFlowTemplate;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.repository.OrganizationRepository;
+import io.flowr.repository.UserRepository;
+import io.flowr.repository.WorkflowRepository;
+import io.flowr.repository.WorkflowTemplateRepository;
+import io.flowr.utils.Enums;
 import io.flowr.utils.JsonUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @Service
+@Slf4j
+@Transactional
 public class WorkflowTemplateService {
+    private final WorkflowTemplateRepository workflowTemplateRepository;
+    private final WorkflowRepository workflowRepository;
+    private final UserRepository userRepository;
+    private final OrganizationRepository organizationRepository;
     private final JsonUtils jsonUtils;
 
-    public WorkflowTemplateService(JsonUtils jsonUtils) {
+    /**
+     * Parsed and validated structures. The key carries updatedAt, so an edited
+     * template simply misses and its old entry ages out.
+     */
+    private final Cache<TemplateKey, CompiledTemplate> compiledTemplates;
+
+    private record TemplateKey(UUID id, LocalDateTime updatedAt) {
+    }
+
+    private record CompiledTemplate(List<CompiledStep> steps, Set<UUID> assigneeIds) {
+    }
+
+    private record CompiledStep(String name, String description, UUID assigneeId, int stepOrder, List<CompiledAction> actions) {
+    }
+
+    private record CompiledAction(String name, String description, Enums.ActionType actionType, int actionOrder, boolean optional) {
+    }
+
+    public WorkflowTemplateService(
+            WorkflowTemplateRepository workflowTemplateRepository,
+            WorkflowRepository workflowRepository,
+            UserRepository userRepository,
+            OrganizationRepository organizationRepository,
+            JsonUtils jsonUtils,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.template-cache.max-size}") long cacheMaxSize
+    ) {
+        this.workflowTemplateRepository = workflowTemplateRepository;
+        this.workflowRepository = workflowRepository;
+        this.userRepository = userRepository;
+        this.organizationRepository = organizationRepository;
         this.jsonUtils = jsonUtils;
+        this.compiledTemplates = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiledTemplates, "workflowTemplates");
+    }
+
+    public TemplateDto.Response createTemplate(TemplateDto.Request request, UUID userId, UUID organizationId) {
+        CompiledTemplate compiled = compile(request.getStructure());
+        loadAssignees(compiled, organizationId);
+
+        WorkFlowTemplate template = WorkFlowTemplate.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .defaultPriority(request.getDefaultPriority())
+                .isActive(request.getIsActive() == null || request.getIsActive())
+                .templateStructure(jsonUtils.toJson(request.getStructure()))
+                .organization(organizationRepository.getReferenceById(organizationId))
+                .createdBy(userRepository.getReferenceById(userId))
+                .build();
+
+        template = workflowTemplateRepository.save(template);
+        log.info("Template {} created with {} steps", template.getId(), compiled.steps().size());
+
+        return TemplateDto.Response.builder()
+                .id(template.getId())
+                .title(template.getTitle())
+                .description(template.getDescription())
+                .defaultPriority(template.getDefaultPriority())
+                .isActive(template.getIsActive())
+                .updatedAt(template.getUpdatedAt())
+                .structure(request.getStructure())
+                .build();
+    }
+
+    public List<TemplateDto.Response> getTemplates(UUID organizationId) {
+        return workflowTemplateRepository.findHeadersByOrganizationId(organizationId).stream()
+                .map(header -> toResponse(header, null))
+                .toList();
+    }
+
+    public TemplateDto.Response getTemplate(UUID templateId, UUID organizationId) {
+        TemplateHeaderView header = findHeader(templateId, organizationId);
+        String structure = workflowTemplateRepository.findStructureById(templateId)
+                .orElseThrow(() -> new RuntimeException("Template not found"));
+
+        return toResponse(header, jsonUtils.fromJson(structure, TemplateStructure.class));
+    }
+
+    /**
+     * Creates a draft workflow with every step and action of the template.
+     * Reads the template header, the structure only on a cache miss, and all
+     * assignees in one query; the inserts go out as JDBC batches at commit.
+     */
+    public WorkflowDto.Response instantiate(UUID templateId, TemplateDto.InstantiateRequest request, UUID userId, UUID organizationId) {
+        TemplateHeaderView header = findHeader(templateId, organizationId);
+        if (!Boolean.TRUE.equals(header.getIsActive())) {
+            throw new RuntimeException("Template is not active");
+        }
+
+        CompiledTemplate compiled = compiledTemplates.get(
+                new TemplateKey(header.getId(), header.getUpdatedAt()),
+                key -> compile(workflowTemplateRepository.findStructureById(key.id())
+                        .map(json -> jsonUtils.fromJson(json, TemplateStructure.class))
+                        .orElseThrow(() -> new RuntimeException("Template not found")))
+        );
+        Map<UUID, User> assignees = loadAssignees(compiled, organizationId);
+
+        Workflow workflow = Workflow.builder()
+                .title(request.getTitle() != null ? request.getTitle() : header.getTitle())
+                .description(request.getDescription() != null ? request.getDescription() : header.getDescription())
+                .status(Enums.WorkflowStatus.DRAFT)
+                .priority(request.getPriority() != null ? request.getPriority()
+                        : header.getDefaultPriority() != null ? header.getDefaultPriority() : Enums.Priority.MEDIUM)
+                .dueAt(request.getDueAt())
+                .organization(organizationRepository.getReferenceById(organizationId))
+                .initiatedBy(userRepository.getReferenceById(userId))
+                .build();
+
+        for (CompiledStep compiledStep : compiled.steps()) {
+            WorkflowStep step = WorkflowStep.builder()
+                    .name(compiledStep.name())
+                    .description(compiledStep.description())
+                    .stepOrder(compiledStep.stepOrder())
+                    .status(Enums.StepStatus.PENDING)
+                    .assignedTo(assignees.get(compiledStep.assigneeId()))
+                    .workflow(workflow)
+                    .build();
+
+            for (CompiledAction compiledAction : compiledStep.actions()) {
+                step.addStepAction(WorkflowStepAction.builder()
+                        .name(compiledAction.name())
+                        .description(compiledAction.description())
+                        .actionType(compiledAction.actionType())
+                        .actionOrder(compiledAction.actionOrder())
+                        .isOptional(compiledAction.optional())
+                        .build());
+            }
+            workflow.getSteps().add(step);
+        }
+
+        workflow = workflowRepository.save(workflow);
+        log.info("Workflow {} created from template {}", workflow.getId(), templateId);
+
+        return WorkflowDto.Response.builder()
+                .id(workflow.getId())
+                .title(workflow.getTitle())
+                .description(workflow.getDescription())
+                .status(workflow.getStatus())
+                .isActive(workflow.getIsActive())
+                .priority(workflow.getPriority())
+                .dueAt(workflow.getDueAt())
+                .build();
+    }
+
+    private TemplateHeaderView findHeader(UUID templateId, UUID organizationId) {
+        return workflowTemplateRepository.findHeaderById(templateId)
+                .filter(header -> header.getOrganizationId().equals(organizationId))
+                .orElseThrow(() -> new RuntimeException("Template not found"));
+    }
+
+    private Map<UUID, User> loadAssignees(CompiledTemplate compiled, UUID organizationId) {
+        Map<UUID, User> assignees = userRepository.findAllById(compiled.assigneeIds()).stream()
+                .filter(user -> user.getIsActive() && user.getOrganization().getId().equals(organizationId))
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        for (UUID assigneeId : compiled.assigneeIds()) {
+            if (!assignees.containsKey(assigneeId)) {
+                throw new RuntimeException("Assigned user not found in organization: " + assigneeId);
+            }
+        }
+        return assignees;
+    }
+
+    /**
+     * Checks what bean validation cannot (unique orders) and sorts steps and actions once
+     */
+    private CompiledTemplate compile(TemplateStructure structure) {
+        if (structure == null || structure.getSteps() == null || structure.getSteps().isEmpty()) {
+            throw new RuntimeException("Invalid template: steps cannot be empty");
+        }
+
+        Set<Integer> stepOrders = new HashSet<>();
+        Set<UUID> assigneeIds = new HashSet<>();
+        List<CompiledStep> steps = structure.getSteps().stream()
+                .map(step -> {
+                    if (step.getName() == null || step.getName().isBlank()) {
+                        throw new RuntimeException("Invalid template: step name is required");
+                    }
+                    if (step.getStepOrder() == null || step.getStepOrder() < 1 || !stepOrders.add(step.getStepOrder())) {
+                        throw new RuntimeException("Invalid template: step orders must be unique and start at 1");
+                    }
+                    if (step.getDefaultAssignedUserId() == null) {
+                        throw new RuntimeException("Invalid template: step '" + step.getName() + "' has no assignee");
+                    }
+                    assigneeIds.add(step.getDefaultAssignedUserId());
+
+                    return new CompiledStep(
+                            step.getName(),
+                            step.getDescription(),
+                            step.getDefaultAssignedUserId(),
+                            step.getStepOrder(),
+                            compileActions(step)
+                    );
+                })
+                .sorted(Comparator.comparingInt(CompiledStep::stepOrder))
+                .toList();
+
+        return new CompiledTemplate(steps, Set.copyOf(assigneeIds));
+    }
+
+    private List<CompiledAction> compileActions(TemplateStructure.StepTemplate step) {
+        if (step.getActions() == null) {
+            return List.of();
+        }
+
+        Set<Integer> actionOrders = new HashSet<>();
+        return step.getActions().stream()
+                .map(action -> {
+                    if (action.getName() == null || action.getName().isBlank() || action.getActionType() == null) {
+                        throw new RuntimeException("Invalid template: actions of step '" + step.getName() + "' need a name and type");
+                    }
+                    if (action.getActionOrder() == null || action.getActionOrder() < 1 || !actionOrders.add(action.getActionOrder())) {
+                        throw new RuntimeException("Invalid template: action orders of step '" + step.getName() + "' must be unique and start at 1");
+                    }
+                    return new CompiledAction(
+                            action.getName(),
+                            action.getDescription(),
+                            action.getActionType(),
+                            action.getActionOrder(),
+                            Boolean.TRUE.equals(action.getIsOptional())
+                    );
+                })
+                .sorted(Comparator.comparingInt(CompiledAction::actionOrder))
+                .toList();
     }
 
-    public void createTemplate(String title, TemplateStructure structure) {
-        WorkFlowTemplate template = new WorkFlowTemplate();
-        template.setTitle(title);
-        template.setTemplateStructure(jsonUtils.toJson(structure));
+    private TemplateDto.Response toResponse(TemplateHeaderView header, TemplateStructure structure) {
+        return TemplateDto.Response.builder()
+                .id(header.getId())
+                .title(header.getTitle())
+                .description(header.getDescription())
+                .defaultPriority(header.getDefaultPriority())
+                .isActive(header.getIsActive())
+                .updatedAt(header.getUpdatedAt())
+                .structure(structure)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,48 @@
+package io.flowr.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Strong ETags over whatever identifies a representation, e.g. ids and
+ * updatedAt timestamps. Bump REPRESENTATION when a response changes shape,
+ * so clients holding old tags refetch.
+ * Tagged responses are sent with {@link #REVALIDATE}: clients may keep them
+ * but must ask with If-None-Match before reusing one.
+ */
+public class ETagUtils {
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private static final String REPRESENTATION = "1";
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 304 after WebRequest#checkNotModified matched, which already set the ETag header
+     */
+    public static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(REVALIDATE)
+                .build();
+    }
+
+    public static String of(Object... parts) {
+        StringBuilder raw = new StringBuilder(REPRESENTATION);
+        for (Object part : parts) {
+            raw.append(SEPARATOR).append(part);
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
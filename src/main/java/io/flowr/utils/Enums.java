@@ -34,4 +34,16 @@ public enum Enums {
     public enum Priority {
         LOW, MEDIUM, HIGH, URGENT
     }
+
+    public enum EmailStatus {
+        PENDING, SENT, FAILED
+    }
+
+    public enum WorkflowChangeKind {
+        WORKFLOW, STEP, ACTION
+    }
+
+    public enum ChangeType {
+        WORKFLOW, USER, TEMPLATE
+    }
 }
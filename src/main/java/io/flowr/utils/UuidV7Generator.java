@@ -0,0 +1,51 @@
+package io.flowr.utils;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUIDv7: 48-bit Unix millis, version, 12-bit counter, variant, 62 random bits.
+ * The counter (RFC 9562 method 1) keeps ids from one JVM strictly increasing
+ * even within the same millisecond; on overflow it borrows the next millisecond.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+    private static final AtomicLong LAST_TIMESTAMP_AND_COUNTER = new AtomicLong();
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    public static UUID nextUuid() {
+        long now = System.currentTimeMillis() << 12;
+        long timestampAndCounter = LAST_TIMESTAMP_AND_COUNTER.updateAndGet(last -> Math.max(last + 1, now));
+
+        long timestamp = timestampAndCounter >>> 12;
+        long counter = timestampAndCounter & 0xFFFL;
+
+        long mostSignificantBits = (timestamp << 16) | (0x7L << 12) | counter;
+        long leastSignificantBits = (RANDOM.get().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Unix millis encoded in a UUIDv7
+     */
+    public static long timestampMillis(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return nextUuid();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
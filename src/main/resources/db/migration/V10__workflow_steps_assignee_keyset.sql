@@ -0,0 +1,35 @@
+-- Keyset pagination for the "assigned to me" branch of "my workflows": steps carry
+-- their workflow's created_at so one index yields the user's workflows newest first
+ALTER TABLE workflow_steps ADD COLUMN IF NOT EXISTS workflow_created_at TIMESTAMP(6);
+
+UPDATE workflow_steps ws
+SET workflow_created_at = w.created_at
+FROM workflows w
+WHERE w.id = ws.workflow_id
+  AND ws.workflow_created_at IS NULL;
+
+-- workflows.created_at never changes, so copying it when a step is written is enough
+CREATE OR REPLACE FUNCTION workflow_steps_copy_workflow_created_at() RETURNS trigger AS $$
+BEGIN
+    SELECT created_at INTO NEW.workflow_created_at FROM workflows WHERE id = NEW.workflow_id;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS workflow_steps_workflow_created_at_insert ON workflow_steps;
+CREATE TRIGGER workflow_steps_workflow_created_at_insert
+    BEFORE INSERT ON workflow_steps
+    FOR EACH ROW EXECUTE FUNCTION workflow_steps_copy_workflow_created_at();
+
+-- Hibernate writes every column on update; only a step moved to another workflow needs the lookup
+DROP TRIGGER IF EXISTS workflow_steps_workflow_created_at_update ON workflow_steps;
+CREATE TRIGGER workflow_steps_workflow_created_at_update
+    BEFORE UPDATE OF workflow_id ON workflow_steps
+    FOR EACH ROW
+    WHEN (OLD.workflow_id IS DISTINCT FROM NEW.workflow_id)
+    EXECUTE FUNCTION workflow_steps_copy_workflow_created_at();
+
+ALTER TABLE workflow_steps ALTER COLUMN workflow_created_at SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_workflow_steps_assigned_to_workflow_created_at_id
+    ON workflow_steps (assigned_to, workflow_created_at DESC, workflow_id DESC);
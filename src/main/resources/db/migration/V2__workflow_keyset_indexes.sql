@@ -0,0 +1,12 @@
+-- Keyset pagination for "my workflows": (created_at, id) descending per involvement branch
+CREATE INDEX IF NOT EXISTS idx_workflows_initiated_by_created_at_id
+    ON workflows (initiated_by, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_workflows_initiated_by_status_created_at_id
+    ON workflows (initiated_by, status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_workflows_created_at_id
+    ON workflows (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_steps_assigned_to_workflow_id
+    ON workflow_steps (assigned_to, workflow_id);
@@ -0,0 +1,11 @@
+-- Optimistic locking for the execution engine
+ALTER TABLE workflows ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE workflow_steps ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE workflow_step_actions ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Step advancement looks up the next step by order, and step completion reads all actions of a step
+CREATE INDEX IF NOT EXISTS idx_workflow_steps_workflow_id_step_order
+    ON workflow_steps (workflow_id, step_order);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_step_actions_step_id_action_order
+    ON workflow_step_actions (step_id, action_order);
@@ -0,0 +1,12 @@
+-- Overdue escalation: rows are marked once escalated and leave the partial indexes,
+-- so every scan only touches overdue work that still needs attention
+ALTER TABLE workflows ADD COLUMN IF NOT EXISTS escalated_at TIMESTAMP(6);
+ALTER TABLE workflow_steps ADD COLUMN IF NOT EXISTS escalated_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_workflows_overdue_scan
+    ON workflows (due_at, id)
+    WHERE escalated_at IS NULL AND status IN ('DRAFT', 'ACTIVE', 'PAUSED');
+
+CREATE INDEX IF NOT EXISTS idx_workflow_steps_overdue_scan
+    ON workflow_steps (due_at, id)
+    WHERE escalated_at IS NULL AND status = 'IN_PROGRESS';
@@ -0,0 +1,18 @@
+-- Transactional outbox for outbound email, drained by EmailDispatcher
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              UUID PRIMARY KEY,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    sent_at         TIMESTAMP(6)
+);
+
+-- The dispatcher only ever scans pending mail that is due
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending
+    ON email_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
@@ -0,0 +1,18 @@
+-- Token revocation: single tokens by jti (logout) and every token of a user
+-- issued before a watermark (password or role change)
+ALTER TABLE users ADD COLUMN IF NOT EXISTS tokens_valid_after TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_users_tokens_valid_after
+    ON users (tokens_valid_after)
+    WHERE tokens_valid_after IS NOT NULL;
+
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        UUID PRIMARY KEY,
+    user_id    UUID         NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL,
+    revoked_at TIMESTAMP(6) NOT NULL
+);
+
+-- Incremental sync reads recent revocations; expired ones are purged
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
@@ -0,0 +1,14 @@
+-- Asymmetric JWT signing keys shared by every node. Private keys are
+-- encrypted with AES-GCM; public keys are published at /.well-known/jwks.json.
+-- A new key is published before it signs, and a retired key keeps verifying
+-- until the last token it signed has expired.
+CREATE TABLE IF NOT EXISTS jwt_signing_keys (
+    kid          VARCHAR(64) PRIMARY KEY,
+    algorithm    VARCHAR(16)  NOT NULL,
+    public_key   BYTEA        NOT NULL,
+    private_key  BYTEA        NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    activates_at TIMESTAMP(6) NOT NULL,
+    retired_at   TIMESTAMP(6),
+    expires_at   TIMESTAMP(6)
+);
@@ -0,0 +1,59 @@
+-- Workflow counts per organization, status and priority for the dashboard.
+-- Triggers append a -1/+1 delta row for every insert, delete or status/priority
+-- change, so concurrent writers never wait on a shared counter row. A periodic
+-- fold moves the deltas into the summary; readers add up both, which stays
+-- cheap because few deltas are pending at any time. Priority is '' when unset.
+CREATE TABLE IF NOT EXISTS workflow_status_counts (
+    organization_id UUID        NOT NULL,
+    status          VARCHAR(32) NOT NULL,
+    priority        VARCHAR(32) NOT NULL,
+    count           BIGINT      NOT NULL,
+    PRIMARY KEY (organization_id, status, priority)
+);
+
+CREATE TABLE IF NOT EXISTS workflow_status_count_deltas (
+    id              BIGSERIAL PRIMARY KEY,
+    organization_id UUID        NOT NULL,
+    status          VARCHAR(32) NOT NULL,
+    priority        VARCHAR(32) NOT NULL,
+    delta           BIGINT      NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_workflow_status_count_deltas_organization
+    ON workflow_status_count_deltas (organization_id);
+
+CREATE OR REPLACE FUNCTION workflow_status_count_delta() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        INSERT INTO workflow_status_count_deltas (organization_id, status, priority, delta)
+        VALUES (OLD.organization_id, OLD.status, COALESCE(OLD.priority, ''), -1);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        INSERT INTO workflow_status_count_deltas (organization_id, status, priority, delta)
+        VALUES (NEW.organization_id, NEW.status, COALESCE(NEW.priority, ''), 1);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS workflows_status_count_insert_delete ON workflows;
+CREATE TRIGGER workflows_status_count_insert_delete
+    AFTER INSERT OR DELETE ON workflows
+    FOR EACH ROW EXECUTE FUNCTION workflow_status_count_delta();
+
+-- Hibernate writes every column on update; only real moves between counters matter
+DROP TRIGGER IF EXISTS workflows_status_count_update ON workflows;
+CREATE TRIGGER workflows_status_count_update
+    AFTER UPDATE OF status, priority, organization_id ON workflows
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status
+        OR OLD.priority IS DISTINCT FROM NEW.priority
+        OR OLD.organization_id IS DISTINCT FROM NEW.organization_id)
+    EXECUTE FUNCTION workflow_status_count_delta();
+
+-- Seed from the rows already there
+INSERT INTO workflow_status_counts (organization_id, status, priority, count)
+SELECT organization_id, status, COALESCE(priority, ''), count(*)
+FROM workflows
+GROUP BY organization_id, status, COALESCE(priority, '')
+ON CONFLICT (organization_id, status, priority) DO NOTHING;
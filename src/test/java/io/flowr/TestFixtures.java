@@ -0,0 +1,85 @@
+package io.flowr;
+
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Rows the integration tests build on. Test contexts share one database, so
+ * every test creates its own organization, puts everything else under it and
+ * removes the whole organization when it is done.
+ */
+public final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    public static Organization createOrganization(EntityManager entityManager) {
+        Organization organization = Organization.builder()
+                .name("Test Org " + UUID.randomUUID())
+                .build();
+        entityManager.persist(organization);
+        return organization;
+    }
+
+    /**
+     * An active, verified user with a unique email; the password hash is not a real one
+     */
+    public static User createUser(EntityManager entityManager, Organization organization, Enums.Role role) {
+        return createUser(entityManager, organization, role, "not-a-real-hash");
+    }
+
+    /**
+     * Same as createUser(EntityManager, Organization, Enums.Role) for a user that logs in
+     * with a password, e.g. the encoded "password123"
+     */
+    public static User createUser(EntityManager entityManager, Organization organization, Enums.Role role, String passwordHash) {
+        User user = User.builder()
+                .name("Test User")
+                .email(UUID.randomUUID() + "@flowr.test")
+                .passwordHash(passwordHash)
+                .role(role)
+                .isActive(true)
+                .emailVerified(true)
+                .organization(organization)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+
+    public static Workflow createDraftWorkflow(EntityManager entityManager, User initiator, Enums.Priority priority) {
+        Workflow workflow = Workflow.builder()
+                .title("Test workflow")
+                .status(Enums.WorkflowStatus.DRAFT)
+                .priority(priority)
+                .organization(initiator.getOrganization())
+                .initiatedBy(initiator)
+                .build();
+        entityManager.persist(workflow);
+        return workflow;
+    }
+
+    /**
+     * Deletes the organization with its workflows, steps, actions, users, their revoked
+     * tokens and dashboard counts; refresh tokens go with their users
+     */
+    public static void deleteOrganization(JdbcTemplate jdbcTemplate, UUID organizationId) {
+        if (organizationId == null) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE workflows SET current_step_id = NULL WHERE organization_id = ?", organizationId);
+        jdbcTemplate.update("DELETE FROM workflow_step_actions WHERE step_id IN (SELECT s.id FROM workflow_steps s JOIN workflows w ON w.id = s.workflow_id WHERE w.organization_id = ?)", organizationId);
+        jdbcTemplate.update("DELETE FROM workflow_steps WHERE workflow_id IN (SELECT id FROM workflows WHERE organization_id = ?)", organizationId);
+        jdbcTemplate.update("DELETE FROM workflows WHERE organization_id = ?", organizationId);
+        jdbcTemplate.update("DELETE FROM workflow_status_count_deltas WHERE organization_id = ?", organizationId);
+        jdbcTemplate.update("DELETE FROM workflow_status_counts WHERE organization_id = ?", organizationId);
+        jdbcTemplate.update("DELETE FROM revoked_tokens WHERE user_id IN (SELECT id FROM users WHERE organization_id = ?)", organizationId);
+        jdbcTemplate.update("DELETE FROM users WHERE organization_id = ?", organizationId);
+        jdbcTemplate.update("DELETE FROM organizations WHERE id = ?", organizationId);
+    }
+}
@@ -0,0 +1,178 @@
+package io.flowr.benchmark;
+
+import io.flowr.FlowrApplication;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.utils.Enums;
+import io.flowr.utils.UuidV7Generator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of a large workflow, before and after bulk-write mode.
+ *
+ * 1. JPA: one workflow with N steps (one action each) persisted row by row
+ *    (session batch size 1, the old behaviour) and with the configured JDBC batching.
+ * 2. JDBC: the same number of primary keys inserted as random v4 UUIDs and as
+ *    time-ordered v7 UUIDs, reporting throughput and the resulting index size,
+ *    which is where random keys pay for page splits.
+ *
+ * Needs a running database (the app's DB_* settings) and JWT_SECRET:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.cp -Dmdep.includeScope=test
+ *   java -Dsteps=10000 -cp "target/test-classes:target/classes:$(cat target/bench.cp)" io.flowr.benchmark.BulkInsertBenchmark
+ */
+public class BulkInsertBenchmark {
+    private static final int STEPS = Integer.getInteger("steps", 10_000);
+    private static final int KEYS = Integer.getInteger("keys", 200_000);
+    private static final int ITERATIONS = Integer.getInteger("iterations", 3);
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    BulkInsertBenchmark(ConfigurableApplicationContext context) {
+        this.entityManager = context.getBean(EntityManager.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    public static void main(String[] args) {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FlowrApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false", "logging.level.io.flowr=INFO")
+                .run(args)) {
+            BulkInsertBenchmark benchmark = new BulkInsertBenchmark(context);
+            benchmark.runWorkflowInserts();
+            benchmark.runKeyOrdering();
+        }
+    }
+
+    void runWorkflowInserts() {
+        UUID[] owner = transactionTemplate.execute(status -> createOwner());
+
+        for (int batchSize : new int[]{1, 0}) {
+            String label = batchSize == 1 ? "row-by-row" : "batched";
+            List<Long> timings = new ArrayList<>();
+
+            // first run warms up Hibernate and the connection pool
+            for (int i = 0; i <= ITERATIONS; i++) {
+                long start = System.nanoTime();
+                UUID workflowId = transactionTemplate.execute(status -> persistWorkflow(owner, batchSize));
+                long elapsed = System.nanoTime() - start;
+                if (i > 0) {
+                    timings.add(elapsed);
+                }
+                deleteWorkflow(workflowId);
+            }
+
+            long best = timings.stream().mapToLong(Long::longValue).min().orElseThrow();
+            long rows = 1 + 2L * STEPS;
+            System.out.printf("%-12s %,d steps  best %8.1f ms  %,10.0f rows/s%n",
+                    label, STEPS, best / 1e6, rows / (best / 1e9));
+        }
+
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", owner[1]);
+        jdbcTemplate.update("DELETE FROM organizations WHERE id = ?", owner[0]);
+    }
+
+    void runKeyOrdering() {
+        report("uuid-v4", UUID::randomUUID);
+        report("uuid-v7", UuidV7Generator::nextUuid);
+    }
+
+    private void report(String label, Supplier<UUID> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_keys");
+        jdbcTemplate.execute("CREATE TABLE bench_keys (id uuid PRIMARY KEY, step_order int NOT NULL, name varchar(255) NOT NULL)");
+
+        long start = System.nanoTime();
+        for (int offset = 0; offset < KEYS; offset += 1000) {
+            List<Object[]> batch = new ArrayList<>(1000);
+            for (int i = offset; i < Math.min(offset + 1000, KEYS); i++) {
+                batch.add(new Object[]{ids.get(), i, "Step " + i});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO bench_keys (id, step_order, name) VALUES (?, ?, ?)", batch);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Long indexBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('bench_keys_pkey')", Long.class);
+        System.out.printf("%-12s %,d keys   %8.1f ms  %,10.0f rows/s  pkey %,d KB%n",
+                label, KEYS, elapsed / 1e6, KEYS / (elapsed / 1e9), indexBytes / 1024);
+
+        jdbcTemplate.execute("DROP TABLE bench_keys");
+    }
+
+    private UUID[] createOwner() {
+        Organization organization = Organization.builder()
+                .name("Bulk Insert Benchmark " + UUID.randomUUID())
+                .build();
+        entityManager.persist(organization);
+
+        User user = User.builder()
+                .name("Bulk Insert Benchmark")
+                .email(UUID.randomUUID() + "@flowr.bench")
+                .passwordHash("not-a-real-hash")
+                .role(Enums.Role.DESIGNER)
+                .isActive(true)
+                .emailVerified(true)
+                .organization(organization)
+                .build();
+        entityManager.persist(user);
+        return new UUID[]{organization.getId(), user.getId()};
+    }
+
+    /**
+     * @param batchSize session JDBC batch size; 0 keeps the configured hibernate.jdbc.batch_size
+     */
+    private UUID persistWorkflow(UUID[] owner, int batchSize) {
+        if (batchSize > 0) {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+        }
+
+        Workflow workflow = Workflow.builder()
+                .title("Bulk workflow")
+                .status(Enums.WorkflowStatus.DRAFT)
+                .priority(Enums.Priority.MEDIUM)
+                .organization(entityManager.getReference(Organization.class, owner[0]))
+                .initiatedBy(entityManager.getReference(User.class, owner[1]))
+                .build();
+
+        for (int s = 1; s <= STEPS; s++) {
+            WorkflowStep step = WorkflowStep.builder()
+                    .name("Step " + s)
+                    .stepOrder(s)
+                    .status(Enums.StepStatus.PENDING)
+                    .workflow(workflow)
+                    .build();
+            step.addStepAction(WorkflowStepAction.builder()
+                    .name("Review")
+                    .actionType(Enums.ActionType.REVIEW)
+                    .actionOrder(1)
+                    .build());
+            workflow.getSteps().add(step);
+        }
+
+        entityManager.persist(workflow);
+        entityManager.flush();
+        entityManager.clear();
+        return workflow.getId();
+    }
+
+    private void deleteWorkflow(UUID workflowId) {
+        jdbcTemplate.update("DELETE FROM workflow_step_actions WHERE step_id IN (SELECT id FROM workflow_steps WHERE workflow_id = ?)", workflowId);
+        jdbcTemplate.update("DELETE FROM workflow_steps WHERE workflow_id = ?", workflowId);
+        jdbcTemplate.update("DELETE FROM workflows WHERE id = ?", workflowId);
+    }
+}
@@ -0,0 +1,190 @@
+package io.flowr.benchmark;
+
+import io.flowr.config.JwtAuthenticationFilter;
+import io.flowr.config.JwtAuthenticationToken;
+import io.flowr.config.JwtPrincipal;
+import io.flowr.repository.RefreshTokenRepository;
+import io.flowr.repository.RevokedTokenRepository;
+import io.flowr.repository.UserRepository;
+import io.flowr.service.JwtKeyRing;
+import io.flowr.service.JwtService;
+import io.flowr.service.TokenRevocationService;
+import io.flowr.utils.UuidV7Generator;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token in JwtAuthenticationFilter.
+ * legacyFilterPath replays the old filter's extract/isTokenValid call sequence the
+ * way the old JwtService ran it: six parses of an HMAC token, each through a
+ * parser built for that call from the key made once at startup.
+ * singleParse is a cache miss and cachedPrincipal a repeat request; singleParse
+ * verifies the EdDSA signature tokens carry now, which costs far more than the
+ * HMAC of the legacy path, so compare the two per parse with that in mind.
+ * legacyAuthentication rebuilds the authentication the way the filter used to
+ * (fresh authority list, request details); authenticatedRequest runs the whole
+ * filter for a cached token, including the revocation check that revocationCheck
+ * measures on its own against 10,000 revoked tokens.
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.cp -Dmdep.includeScope=test
+ *   java -cp "target/test-classes:target/classes:$(cat target/bench.cp)" io.flowr.benchmark.JwtAuthBenchmark
+ * Add "-prof gc" to the arguments to get bytes allocated per operation (gc.alloc.rate.norm).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtService jwtService;
+    private TokenRevocationService tokenRevocationService;
+    private JwtPrincipal principal;
+    private String token;
+    private String email;
+    private SecretKey legacyKey;
+    private String legacyToken;
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(keyRing(), 15, 24, 1, 24, 10_000);
+        email = "bench@flowr.io";
+        token = jwtService.generateToken(email, UUID.randomUUID().toString(), "STAFF", UUID.randomUUID().toString());
+        principal = jwtService.verifyAuthToken(token);
+
+        legacyKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        legacyToken = Jwts.builder()
+                .subject(email)
+                .claim("userId", UUID.randomUUID().toString())
+                .claim("role", "STAFF")
+                .claim("organizationId", UUID.randomUUID().toString())
+                .claim("type", "auth")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(legacyKey)
+                .compact();
+
+        // Outside a transaction revocations apply at once; the mocked repositories are never hit on a filter miss
+        tokenRevocationService = new TokenRevocationService(
+                Mockito.mock(RevokedTokenRepository.class),
+                Mockito.mock(RefreshTokenRepository.class),
+                Mockito.mock(UserRepository.class),
+                Mockito.mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(),
+                15, 100_000, 0.01, 10_000);
+        Instant expiresAt = Instant.now().plus(1, ChronoUnit.HOURS);
+        for (int i = 0; i < 10_000; i++) {
+            tokenRevocationService.revokeToken(new JwtPrincipal(
+                    email, UUID.randomUUID(), UUID.randomUUID(), "STAFF", UuidV7Generator.nextUuid(), Instant.now(), expiresAt));
+        }
+
+        filter = new JwtAuthenticationFilter(jwtService, tokenRevocationService);
+        request = new MockHttpServletRequest("GET", "/api/v1/workflows");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> {
+        };
+    }
+
+    @Benchmark
+    public void legacyFilterPath(Blackhole bh) {
+        // extractEmail, then isTokenValid, which parses again and once more in isTokenExpired
+        String userEmail = legacyClaims().getSubject();
+        boolean valid = legacyClaims().getSubject().equals(userEmail)
+                && !legacyClaims().getExpiration().before(new Date());
+        bh.consume(valid);
+        bh.consume(legacyClaims().get("userId", String.class));
+        bh.consume(legacyClaims().get("role", String.class));
+        bh.consume(legacyClaims().get("organizationId", String.class));
+    }
+
+    @Benchmark
+    public void singleParse(Blackhole bh) {
+        bh.consume(jwtService.validateAuthToken(token));
+    }
+
+    @Benchmark
+    public JwtPrincipal cachedPrincipal() {
+        return jwtService.verifyAuthToken(token);
+    }
+
+    @Benchmark
+    public Authentication legacyAuthentication() {
+        JwtPrincipal principal = jwtService.verifyAuthToken(token);
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + principal.role()));
+        JwtAuthenticationToken authToken = new JwtAuthenticationToken(
+                principal.email(), authorities, principal.userId(), principal.organizationId(), principal.role());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        return authToken;
+    }
+
+    @Benchmark
+    public boolean revocationCheck() {
+        return tokenRevocationService.isRevoked(principal);
+    }
+
+    @Benchmark
+    public Authentication authenticatedRequest() throws Exception {
+        filter.doFilter(request, response, chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private Claims legacyClaims() {
+        return Jwts.parser()
+                .verifyWith(legacyKey)
+                .build()
+                .parseSignedClaims(legacyToken)
+                .getPayload();
+    }
+
+    private static JwtKeyRing keyRing() {
+        JwtKeyRing keyRing = new JwtKeyRing(SECRET, false);
+        KeyPair keyPair = JwtKeyRing.generateKeyPair("EdDSA");
+        keyRing.update(List.of(new JwtKeyRing.Entry("bench", "EdDSA", keyPair.getPublic(), keyPair.getPrivate(), Instant.EPOCH, null)));
+        return keyRing;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(JwtAuthBenchmark.class.getSimpleName());
+        if (Arrays.asList(args).contains("-prof") && Arrays.asList(args).contains("gc")) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
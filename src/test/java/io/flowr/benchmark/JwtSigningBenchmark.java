@@ -0,0 +1,99 @@
+package io.flowr.benchmark;
+
+import io.flowr.service.JwtKeyRing;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of signing and verifying one access token per algorithm: HS256 (the
+ * old shared secret) against the asymmetric ES256 and EdDSA (Ed25519) the key
+ * ring can use. Signing happens once per login or refresh; verification once
+ * per token per node, after which JwtService caches the principal.
+ * Run with:
+ *   mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.cp -Dmdep.includeScope=test
+ *   java -cp "target/test-classes:target/classes:$(cat target/bench.cp)" io.flowr.benchmark.JwtSigningBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private Key signingKey;
+    private SecureDigestAlgorithm<Key, Key> signatureAlgorithm;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Key verificationKey;
+        if ("HS256".equals(algorithm)) {
+            signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+            verificationKey = signingKey;
+            signatureAlgorithm = (SecureDigestAlgorithm<Key, Key>) (Object) Jwts.SIG.HS256;
+        } else {
+            KeyPair keyPair = JwtKeyRing.generateKeyPair(algorithm);
+            signingKey = keyPair.getPrivate();
+            verificationKey = keyPair.getPublic();
+            signatureAlgorithm = (SecureDigestAlgorithm<Key, Key>) (Object)
+                    ("ES256".equals(algorithm) ? Jwts.SIG.ES256 : Jwts.SIG.EdDSA);
+        }
+        parser = Jwts.parser().keyLocator(header -> verificationKey).build();
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .header().keyId("bench").and()
+                .id(UUID.randomUUID().toString())
+                .subject("bench@flowr.io")
+                .claim("userId", "0b7d4c4e-0000-4000-8000-000000000001")
+                .claim("role", "STAFF")
+                .claim("organizationId", "0b7d4c4e-0000-4000-8000-000000000002")
+                .claim("type", "auth")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(15, ChronoUnit.MINUTES)))
+                .signWith(signingKey, signatureAlgorithm)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(JwtSigningBenchmark.class.getSimpleName());
+        if (Arrays.asList(args).contains("-prof") && Arrays.asList(args).contains("gc")) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
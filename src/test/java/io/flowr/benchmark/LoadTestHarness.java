@@ -0,0 +1,208 @@
+package io.flowr.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Closed-loop HTTP load generator against a running flowr instance.
+ * Reports throughput, p50/p99 latency and body size per scenario (workflows,
+ * conditional, login, login-storm, all), so the same run can be repeated
+ * against the default thread pool and the virtual-threads profile:
+ *
+ *   SPRING_PROFILES_ACTIVE=default         mvn spring-boot:run
+ *   SPRING_PROFILES_ACTIVE=virtual-threads mvn -Pjava21 spring-boot:run
+ *   java -cp "target/test-classes:$(cat target/bench.cp)" io.flowr.benchmark.LoadTestHarness all
+ *
+ * System properties: flowr.url, concurrency, seconds, email, password.
+ * The login scenarios hit the auth rate limiter, so start the server with
+ * RATE_LIMIT_ENABLED=false to measure hashing rather than 429s.
+ * The conditional scenario polls the workflow list once as a full fetch and
+ * once replaying its ETag, to show what a 304 saves in latency and bytes.
+ */
+public class LoadTestHarness {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl = System.getProperty("flowr.url", "http://localhost:8080");
+    private final int concurrency = Integer.getInteger("concurrency", 64);
+    private final int seconds = Integer.getInteger("seconds", 30);
+    private final String email = System.getProperty("email", "admin@acme.com");
+    private final String password = System.getProperty("password", "password123");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    record Result(String scenario, long requests, long errors, double throughput, long p50Micros, long p99Micros, long bodyBytes) {
+        @Override
+        public String toString() {
+            return String.format("%-12s requests=%-8d errors=%-6d throughput=%8.1f req/s  p50=%6.2f ms  p99=%7.2f ms  body=%7d B",
+                    scenario, requests, errors, throughput, p50Micros / 1000.0, p99Micros / 1000.0, bodyBytes);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestHarness harness = new LoadTestHarness();
+        String scenario = args.length > 0 ? args[0] : "all";
+
+        if (scenario.equals("workflows") || scenario.equals("all")) {
+            System.out.println(harness.runWorkflows());
+        }
+        if (scenario.equals("conditional") || scenario.equals("all")) {
+            harness.runConditional().forEach(System.out::println);
+        }
+        if (scenario.equals("login") || scenario.equals("all")) {
+            System.out.println(harness.runLogin());
+        }
+        if (scenario.equals("login-storm") || scenario.equals("all")) {
+            harness.runLoginStorm().forEach(System.out::println);
+        }
+    }
+
+    Result runWorkflows() throws Exception {
+        return run("workflows", workflowsRequest(login()));
+    }
+
+    /**
+     * Read latency on its own, then again while twice as many clients hammer the login endpoint.
+     * Rejected logins (503 while the hashing pool is full) are counted as errors.
+     */
+    List<Result> runLoginStorm() throws Exception {
+        String token = login();
+        Result quiet = run("workflows", workflowsRequest(token));
+
+        ExecutorService storm = Executors.newSingleThreadExecutor();
+        try {
+            Future<Result> logins = storm.submit(() -> run("login-storm", this::loginRequest, concurrency * 2, seconds));
+            Result underStorm = run("workflows*", workflowsRequest(token));
+            return List.of(quiet, logins.get(), underStorm);
+        } finally {
+            storm.shutdownNow();
+        }
+    }
+
+    Supplier<HttpRequest> workflowsRequest(String token) {
+        return () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/workflows"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    /**
+     * The workflow list fetched in full, then revalidated with the ETag of the first response
+     */
+    List<Result> runConditional() throws Exception {
+        String token = login();
+        String etag = client.send(workflowsRequest(token).get(), HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElseThrow(() -> new IllegalStateException("No ETag on /api/v1/workflows"));
+
+        Result full = run("workflows", workflowsRequest(token));
+        Result revalidated = run("workflows-304", () -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/workflows"))
+                .header("Authorization", "Bearer " + token)
+                .header("If-None-Match", etag)
+                .GET()
+                .build());
+        return List.of(full, revalidated);
+    }
+
+    Result runLogin() throws Exception {
+        return run("login", this::loginRequest);
+    }
+
+    String login() throws Exception {
+        HttpResponse<String> response = client.send(loginRequest(), HttpResponse.BodyHandlers.ofString());
+        JsonNode body = MAPPER.readTree(response.body());
+        return body.path("data").path("token").asText();
+    }
+
+    HttpRequest loginRequest() {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    Result run(String scenario, Supplier<HttpRequest> requests) throws Exception {
+        return run(scenario, requests, concurrency, seconds);
+    }
+
+    Result run(String scenario, Supplier<HttpRequest> requests, int workers, int durationSeconds) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSeconds).toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            long[] errors = new long[workers];
+            long[] bytes = new long[workers];
+
+            for (int i = 0; i < workers; i++) {
+                int worker = i;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(requests.get(), HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() >= 400) {
+                                errors[worker]++;
+                            }
+                            bytes[worker] += response.body().length;
+                        } catch (Exception e) {
+                            errors[worker]++;
+                        }
+
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = (System.nanoTime() - start) / 1000;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+
+            long[] all = new long[0];
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                int offset = all.length;
+                all = Arrays.copyOf(all, offset + latencies.length);
+                System.arraycopy(latencies, 0, all, offset, latencies.length);
+            }
+            Arrays.sort(all);
+
+            return new Result(
+                    scenario,
+                    all.length,
+                    Arrays.stream(errors).sum(),
+                    all.length / (double) durationSeconds,
+                    percentile(all, 0.50),
+                    percentile(all, 0.99),
+                    all.length == 0 ? 0 : Arrays.stream(bytes).sum() / all.length
+            );
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)];
+    }
+}
@@ -0,0 +1,137 @@
+package io.flowr.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@SpringBootTest(properties = {
+        "rate-limit.endpoints.login.per-ip.capacity=6",
+        "rate-limit.endpoints.login.per-email.capacity=3"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginIsLimitedPerEmailThenPerIp() throws Exception {
+        String ip = "203.0.113.10";
+        String email = UUID.randomUUID() + "@flowr.test";
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(login(ip, email).getStatus()).isNotEqualTo(429);
+        }
+        MockHttpServletResponse rejected = login(ip, email);
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(Long.parseLong(rejected.getHeader(HttpHeaders.RETRY_AFTER))).isPositive();
+
+        // That email is blocked; other emails from the same address use up the rest of the IP budget,
+        // which the rejected attempt also counted against
+        assertThat(login(ip, UUID.randomUUID() + "@flowr.test").getStatus()).isNotEqualTo(429);
+        assertThat(login(ip, UUID.randomUUID() + "@flowr.test").getStatus()).isNotEqualTo(429);
+        assertThat(login(ip, UUID.randomUUID() + "@flowr.test").getStatus()).isEqualTo(429);
+
+        // Another client is unaffected
+        assertThat(login("198.51.100.7", UUID.randomUUID() + "@flowr.test").getStatus()).isNotEqualTo(429);
+    }
+
+    @Test
+    void encodedAndDoubledSlashPathsShareTheLoginLimit() throws Exception {
+        String ip = "203.0.113.20";
+        String[] paths = {"/api/v1/auth/login", "/api/v1/auth/%6cogin", "/api/v1/auth//login"};
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(login(paths[i % paths.length], ip, UUID.randomUUID() + "@flowr.test").getStatus()).isNotEqualTo(429);
+        }
+        assertThat(login(paths[1], ip, UUID.randomUUID() + "@flowr.test").getStatus()).isEqualTo(429);
+        assertThat(login(paths[2], ip, UUID.randomUUID() + "@flowr.test").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void paddedBodiesAreRejectedInsteadOfSkippingTheEmailLimit() throws Exception {
+        String ip = "203.0.113.30";
+        String email = UUID.randomUUID() + "@flowr.test";
+        String padded = "{\"email\":\"" + email + "\",\"password\":\"not-the-password\"}" + " ".repeat(16 * 1024);
+
+        assertThat(postLogin("/api/v1/auth/login", ip, padded).getStatus()).isEqualTo(413);
+        // Padding does not buy attempts beyond the per-email budget either
+        for (int i = 0; i < 3; i++) {
+            assertThat(login(ip, email).getStatus()).isNotEqualTo(429);
+        }
+        assertThat(login(ip, email).getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void storeAdmitsExactlyTheBurstUnderContention() throws Exception {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000, Duration.ofMinutes(1));
+        long interval = Duration.ofMinutes(1).toNanos() / 100;
+        int threads = 16;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        if (store.tryAcquire("hot", interval, interval * 99) == 0) {
+                            allowed++;
+                        }
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+
+            int allowed = 0;
+            for (Future<Integer> future : futures) {
+                allowed += future.get();
+            }
+            // 100 burst tokens, plus at most one refilled while the threads ran
+            assertThat(allowed).isBetween(100, 101);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse login(String ip, String email) throws Exception {
+        return login("/api/v1/auth/login", ip, email);
+    }
+
+    private MockHttpServletResponse login(String path, String ip, String email) throws Exception {
+        return postLogin(path, ip, "{\"email\":\"" + email + "\",\"password\":\"not-the-password\"}");
+    }
+
+    private MockHttpServletResponse postLogin(String path, String ip, String body) throws Exception {
+        return mockMvc.perform(post(URI.create(path))
+                        .with(request -> {
+                            request.setRemoteAddr(ip);
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn()
+                .getResponse();
+    }
+}
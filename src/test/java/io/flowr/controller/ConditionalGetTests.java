@@ -0,0 +1,151 @@
+package io.flowr.controller;
+
+import io.flowr.TestFixtures;
+import io.flowr.dto.user.ProfileDto;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.service.EmailService;
+import io.flowr.service.JwtService;
+import io.flowr.service.UserService;
+import io.flowr.service.WorkflowExecutionService;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Polling endpoints answer a matching If-None-Match with an empty 304 and
+ * issue a new tag once something they render has changed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private WorkflowExecutionService workflowExecutionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User user;
+    private Workflow workflow;
+    private String token;
+
+    @BeforeEach
+    void createWorkflow() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+
+            user = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+
+            workflow = TestFixtures.createDraftWorkflow(entityManager, user, Enums.Priority.MEDIUM);
+            entityManager.persist(WorkflowStep.builder()
+                    .name("Only step")
+                    .stepOrder(1)
+                    .status(Enums.StepStatus.PENDING)
+                    .assignedTo(user)
+                    .workflow(workflow)
+                    .build());
+        });
+        token = jwtService.generateToken(user.getEmail(), user.getId().toString(), user.getRole().name(),
+                user.getOrganization().getId().toString());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        UUID organizationId = user.getOrganization().getId();
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void profileIsRevalidatedUntilItChanges() throws Exception {
+        String etag = assertRevalidates("/api/v1/users/me");
+
+        ProfileDto.Request request = new ProfileDto.Request();
+        request.setName("Renamed User");
+        userService.editUserProfile(request, user.getId());
+
+        MockHttpServletResponse changed = fetch("/api/v1/users/me", etag);
+        assertThat(changed.getStatus()).isEqualTo(200);
+        assertThat(changed.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(changed.getContentAsString()).contains("Renamed User");
+    }
+
+    @Test
+    void workflowListAndDetailsAreRevalidatedUntilTheyChange() throws Exception {
+        String detailsPath = "/api/v1/workflows/" + workflow.getId();
+        String listTag = assertRevalidates("/api/v1/workflows");
+        String detailsTag = assertRevalidates(detailsPath);
+
+        workflowExecutionService.startWorkflow(workflow.getId(), user.getId(), user.getOrganization().getId());
+
+        MockHttpServletResponse list = fetch("/api/v1/workflows", listTag);
+        assertThat(list.getStatus()).isEqualTo(200);
+        assertThat(list.getContentAsString()).contains("\"status\":\"COMPLETED\"");
+        MockHttpServletResponse details = fetch(detailsPath, detailsTag);
+        assertThat(details.getStatus()).isEqualTo(200);
+        assertThat(details.getHeader(HttpHeaders.ETAG)).isNotEqualTo(detailsTag);
+    }
+
+    /**
+     * Fetches path, then replays its ETag and expects an empty 304; returns the tag
+     */
+    private String assertRevalidates(String path) throws Exception {
+        MockHttpServletResponse first = fetch(path, null);
+        assertThat(first.getStatus()).isEqualTo(200);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"");
+        assertThat(first.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+
+        MockHttpServletResponse repeated = fetch(path, etag);
+        assertThat(repeated.getStatus()).isEqualTo(304);
+        assertThat(repeated.getContentAsString()).isEmpty();
+        assertThat(repeated.getHeaders(HttpHeaders.ETAG)).containsExactly(etag);
+        assertThat(repeated.getHeader(HttpHeaders.CACHE_CONTROL)).contains("no-cache");
+        return etag;
+    }
+
+    private MockHttpServletResponse fetch(String path, String ifNoneMatch) throws Exception {
+        MockHttpServletRequestBuilder request = get(path).header("Authorization", "Bearer " + token);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
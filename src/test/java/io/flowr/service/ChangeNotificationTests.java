@@ -0,0 +1,171 @@
+package io.flowr.service;
+
+import io.flowr.FlowrApplication;
+import io.flowr.TestFixtures;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs a second application context against the same database and checks
+ * that changes committed on one node reach the other, and only committed ones.
+ */
+@SpringBootTest
+class ChangeNotificationTests {
+
+    @Autowired
+    private ChangeNotificationService changeNotificationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Value("${change-notifications.channel}")
+    private String channel;
+
+    private final BlockingQueue<ChangeNotification> ownReceived = new LinkedBlockingQueue<>();
+    private final CountDownLatch ownResynced = new CountDownLatch(1);
+    private final ChangeSubscriber ownSubscriber = new ChangeSubscriber() {
+        @Override
+        public void onChanges(List<ChangeNotification> changes) {
+            ownReceived.addAll(changes);
+        }
+
+        @Override
+        public void onResync() {
+            ownResynced.countDown();
+        }
+    };
+    private ConfigurableApplicationContext otherNode;
+    private User user;
+    private Workflow workflow;
+
+    @BeforeEach
+    void setUp() {
+        List<Object> created = transactionTemplate.execute(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            User createdUser = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+            Workflow createdWorkflow = TestFixtures.createDraftWorkflow(entityManager, createdUser, Enums.Priority.MEDIUM);
+            return List.of(createdUser, createdWorkflow);
+        });
+        user = (User) created.get(0);
+        workflow = (Workflow) created.get(1);
+
+        // Started after the fixture commits, so its inserts are not notified there
+        otherNode = new SpringApplicationBuilder(FlowrApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.jpa.show-sql=false");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        changeNotificationService.unsubscribe(ownSubscriber);
+        otherNode.close();
+        TestFixtures.deleteOrganization(jdbcTemplate, user.getOrganization().getId());
+    }
+
+    @Test
+    void committedChangesReachTheOtherNode() throws Exception {
+        ChangeNotificationService otherService = otherNode.getBean(ChangeNotificationService.class);
+        BlockingQueue<ChangeNotification> otherReceived = new LinkedBlockingQueue<>();
+        otherService.subscribe(otherReceived::addAll);
+        changeNotificationService.subscribe(ownSubscriber);
+
+        WorkflowDetailsCache otherCache = otherNode.getBean(WorkflowDetailsCache.class);
+        otherCache.get(workflow.getId(), () -> details("before"));
+        assertThat(otherCache.get(workflow.getId(), () -> details("unused")).etag()).isEqualTo("before");
+
+        awaitListening(otherService);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.find(Workflow.class, workflow.getId()).setTitle("Rolled back");
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+        assertThat(otherReceived.poll(500, TimeUnit.MILLISECONDS)).isNull();
+
+        // Two rows in one transaction, written twice, go out as one notification of two changes
+        transactionTemplate.executeWithoutResult(status -> {
+            Workflow changed = entityManager.find(Workflow.class, workflow.getId());
+            changed.setTitle("Renamed once");
+            entityManager.flush();
+            changed.setStatus(Enums.WorkflowStatus.ACTIVE);
+            entityManager.find(User.class, user.getId()).setName("Renamed user");
+        });
+
+        Map<Enums.ChangeType, ChangeNotification> received = new EnumMap<>(Enums.ChangeType.class);
+        for (int i = 0; i < 2; i++) {
+            ChangeNotification change = otherReceived.poll(10, TimeUnit.SECONDS);
+            assertThat(change).as("change %d", i).isNotNull();
+            received.put(change.type(), change);
+        }
+        ChangeNotification workflowChange = received.get(Enums.ChangeType.WORKFLOW);
+        assertThat(workflowChange.id()).isEqualTo(workflow.getId());
+        assertThat(workflowChange.workflowChange().status()).isEqualTo("ACTIVE");
+        assertThat(received.get(Enums.ChangeType.USER)).isEqualTo(ChangeNotification.of(Enums.ChangeType.USER, user.getId()));
+        assertThat(otherReceived.poll(200, TimeUnit.MILLISECONDS)).isNull();
+
+        // The other node's cache was dropped; this node ignores its own notifications
+        assertThat(otherCache.get(workflow.getId(), () -> details("after")).etag()).isEqualTo("after");
+        assertThat(ownReceived).isEmpty();
+    }
+
+    @Test
+    void aNodeThatLostChangesMakesOthersResync() throws Exception {
+        changeNotificationService.subscribe(ownSubscriber);
+        awaitListening(otherNode.getBean(ChangeNotificationService.class));
+
+        // What a node sends with its next batch after a full queue or a failed notify
+        String payload = UUID.randomUUID() + "\n" + ChangeNotification.RESYNC_LINE
+                + "\n" + ChangeNotification.of(Enums.ChangeType.USER, user.getId()).encode();
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, payload);
+
+        assertThat(ownResynced.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(ownReceived).containsExactly(ChangeNotification.of(Enums.ChangeType.USER, user.getId()));
+    }
+
+    private void awaitListening(ChangeNotificationService otherService) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!otherService.isListening() || !changeNotificationService.isListening()) {
+            assertThat(System.currentTimeMillis()).as("listeners started").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private WorkflowDetailsCache.CachedDetails details(String etag) {
+        return new WorkflowDetailsCache.CachedDetails(user.getOrganization().getId(), etag, null);
+    }
+}
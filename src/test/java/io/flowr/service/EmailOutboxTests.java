@@ -0,0 +1,120 @@
+package io.flowr.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends outbox mail through a local GreenMail SMTP server.
+ * Not @Transactional: mail is only visible to the dispatcher once the enqueuing transaction commits.
+ */
+@SpringBootTest(properties = {
+        "email.dispatcher.enabled=true",
+        "spring.mail.port=3025",
+        "email.dispatcher.batch-size=25",
+        "email.dispatcher.interval-ms=3600000"
+})
+class EmailOutboxTests {
+    private static final int EMAILS = 120;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private EmailDispatcher emailDispatcher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final String domain = UUID.randomUUID() + ".flowr.test";
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM email_outbox WHERE recipient LIKE ?", "%@" + domain);
+    }
+
+    @Test
+    void committedMailIsSentInBatchesAndRolledBackMailIsNot() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < EMAILS; i++) {
+                emailService.sendEmailVerification("user" + i + "@" + domain, "token-" + i);
+            }
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            emailService.sendPasswordChangeNotification("rolled-back@" + domain);
+            status.setRollbackOnly();
+        });
+
+        // The outbox is shared with other tests, so only this test's recipients are counted
+        assertThat(emailDispatcher.dispatch()).isGreaterThanOrEqualTo(EMAILS);
+
+        List<MimeMessage> received = ownMessages();
+        assertThat(received).hasSize(EMAILS);
+        assertThat(received.stream().map(EmailOutboxTests::recipient))
+                .doesNotContain("rolled-back@" + domain);
+        assertThat(received.stream().map(GreenMailUtil::getBody))
+                .anyMatch(body -> body.contains("/api/v1/auth/verify-email?token=token-7"));
+
+        Long pending = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM email_outbox WHERE recipient LIKE ? AND status <> 'SENT'", Long.class, "%@" + domain);
+        assertThat(pending).isZero();
+
+        // Nothing of this test's left to send on the next run
+        emailDispatcher.dispatch();
+        assertThat(ownMessages()).hasSize(EMAILS);
+    }
+
+    @Test
+    void failedDeliveryIsRescheduledWithBackoff() {
+        greenMail.stop();
+        transactionTemplate.executeWithoutResult(status ->
+                emailService.sendWelcomeEmail("retry@" + domain, "Retry"));
+
+        emailDispatcher.dispatch();
+
+        Map<String, Object> message = jdbcTemplate.queryForMap("""
+                SELECT status, attempts, last_error IS NOT NULL AS has_error, next_attempt_at > now() AS rescheduled
+                FROM email_outbox WHERE recipient = ?
+                """, "retry@" + domain);
+        assertThat(message.get("status")).isEqualTo("PENDING");
+        assertThat(message.get("attempts")).isEqualTo(1);
+        assertThat(message.get("has_error")).isEqualTo(true);
+        assertThat(message.get("rescheduled")).isEqualTo(true);
+    }
+
+    private List<MimeMessage> ownMessages() {
+        return Arrays.stream(greenMail.getReceivedMessages())
+                .filter(message -> recipient(message).endsWith("@" + domain))
+                .toList();
+    }
+
+    private static String recipient(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package io.flowr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Key rotation publishes the next key before it signs and keeps the old one
+ * verifying; tokens from before the key ring still verify with the secret.
+ */
+@SpringBootTest(properties = "jwt.legacy-hmac.enabled=true")
+@AutoConfigureMockMvc
+class JwtKeyRotationTests {
+    private static final String USER_ID = UUID.randomUUID().toString();
+    private static final String ORGANIZATION_ID = UUID.randomUUID().toString();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JwtKeyRing keyRing;
+
+    @Autowired
+    private JwtKeyRotationService jwtKeyRotationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Test
+    void rotationPublishesTheNextKeyBeforeItSigns() throws Exception {
+        String before = issueToken();
+        JwtKeyRing.Entry current = keyRing.signingKey();
+
+        jwtKeyRotationService.rotate();
+
+        List<String> published = new ArrayList<>();
+        jwks().path("keys").forEach(key -> published.add(key.path("kid").asText()));
+        assertThat(published).contains(current.kid()).hasSizeGreaterThan(1);
+        String next = published.stream().filter(kid -> !kid.equals(current.kid())).findFirst().orElseThrow();
+
+        // Other nodes have not loaded the next key yet, so this one keeps signing with the current key
+        assertThat(keyRing.signingKey().kid()).isEqualTo(current.kid());
+        assertThat(jwtService.verifyAuthToken(before).email()).isEqualTo("rotation@flowr.test");
+        assertThat(jwtService.verifyAuthToken(issueToken()).email()).isEqualTo("rotation@flowr.test");
+
+        byte[] stored = jdbcTemplate.queryForObject("SELECT private_key FROM jwt_signing_keys WHERE kid = ?", byte[].class, next);
+        // Encrypted at rest, so the column alone does not yield a usable key
+        assertThat(stored).isNotEmpty();
+        assertThatThrownBy(() -> JwtKeyRing.decodePrivateKey(current.algorithm(), stored)).isInstanceOf(IllegalStateException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT retired_at IS NOT NULL FROM jwt_signing_keys WHERE kid = ?",
+                Boolean.class, current.kid())).isTrue();
+    }
+
+    @Test
+    void legacyTokensVerifyAndUnknownKeysAreRejected() {
+        Instant now = Instant.now();
+        String legacy = Jwts.builder()
+                .subject("rotation@flowr.test")
+                .claim("userId", USER_ID)
+                .claim("role", "STAFF")
+                .claim("organizationId", ORGANIZATION_ID)
+                .claim("type", "auth")
+                .issuedAt(Date.from(now))
+                .expiration(Date.from(now.plus(15, ChronoUnit.MINUTES)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+        assertThat(jwtService.verifyAuthToken(legacy).userId()).hasToString(USER_ID);
+        // Off by default: without a key id there is nothing left to verify against
+        assertThatThrownBy(() -> Jwts.parser().keyLocator(new JwtKeyRing(secret, false)).build().parseSignedClaims(legacy))
+                .isInstanceOf(JwtException.class);
+
+        JwtKeyRing.Entry current = keyRing.signingKey();
+        String unknown = Jwts.builder()
+                .header().keyId(UUID.randomUUID().toString()).and()
+                .subject("rotation@flowr.test")
+                .claim("type", "auth")
+                .expiration(Date.from(now.plus(15, ChronoUnit.MINUTES)))
+                .signWith(JwtKeyRing.generateKeyPair(current.algorithm()).getPrivate())
+                .compact();
+        assertThatThrownBy(() -> jwtService.verifyAuthToken(unknown)).isInstanceOf(JwtException.class);
+    }
+
+    private String issueToken() {
+        return jwtService.generateToken("rotation@flowr.test", USER_ID, "STAFF", ORGANIZATION_ID);
+    }
+
+    private JsonNode jwks() throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getContentAsString());
+    }
+}
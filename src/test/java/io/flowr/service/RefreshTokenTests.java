@@ -0,0 +1,128 @@
+package io.flowr.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.flowr.TestFixtures;
+import io.flowr.dto.auth.PasswordDto;
+import io.flowr.entity.User;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Login, refresh and reuse detection through the HTTP endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RefreshTokenTests {
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = transactionTemplate.execute(status -> TestFixtures.createUser(
+                entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF, passwordEncoder.encode(PASSWORD)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // The user's refresh tokens are removed by ON DELETE CASCADE
+        TestFixtures.deleteOrganization(jdbcTemplate, user.getOrganization().getId());
+    }
+
+    @Test
+    void refreshRotatesAndReuseRevokesTheFamily() throws Exception {
+        JsonNode login = data(send("/api/v1/auth/login", "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"));
+        String first = login.path("refreshToken").asText();
+        assertThat(login.path("expiresIn").asLong()).isEqualTo(15 * 60);
+
+        JsonNode refreshed = data(refresh(first));
+        String second = refreshed.path("refreshToken").asText();
+        assertThat(second).isNotEqualTo(first);
+        assertThat(mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + refreshed.path("token").asText()))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+
+        // A replay right after rotation, like a retry, is refused but keeps the session
+        assertThat(refresh(first).getStatus()).isEqualTo(400);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE user_id = ? AND revoked_at IS NULL", Long.class, user.getId()))
+                .isEqualTo(2);
+
+        // Past the grace window, replaying the rotated token revokes the whole session, including the token that replaced it
+        jdbcTemplate.update("UPDATE refresh_tokens SET used_at = used_at - INTERVAL '1 minute' WHERE user_id = ? AND used_at IS NOT NULL", user.getId());
+        assertThat(refresh(first).getStatus()).isEqualTo(400);
+        assertThat(refresh(second).getStatus()).isEqualTo(400);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM refresh_tokens WHERE user_id = ? AND revoked_at IS NULL", Long.class, user.getId()))
+                .isZero();
+    }
+
+    @Test
+    void passwordChangeRevokesRefreshTokens() throws Exception {
+        JsonNode login = data(send("/api/v1/auth/login", "{\"email\":\"" + user.getEmail() + "\",\"password\":\"" + PASSWORD + "\"}"));
+
+        PasswordDto.ChangeRequest request = new PasswordDto.ChangeRequest();
+        request.setCurrentPassword(PASSWORD);
+        request.setNewPassword("new-password-123");
+        userService.changePassword(request, user.getId());
+
+        assertThat(refresh(login.path("refreshToken").asText()).getStatus()).isEqualTo(400);
+    }
+
+    private MockHttpServletResponse refresh(String refreshToken) throws Exception {
+        return send("/api/v1/auth/refresh", "{\"refreshToken\":\"" + refreshToken + "\"}");
+    }
+
+    private MockHttpServletResponse send(String path, String body) throws Exception {
+        return mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn().getResponse();
+    }
+
+    private JsonNode data(MockHttpServletResponse response) throws Exception {
+        assertThat(response.getStatus()).isEqualTo(200);
+        return objectMapper.readTree(response.getContentAsString()).path("data");
+    }
+}
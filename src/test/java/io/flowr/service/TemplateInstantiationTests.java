@@ -0,0 +1,127 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.dto.workflow.TemplateDto;
+import io.flowr.dto.workflow.TemplateStructure;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statement counts are global, so background jobs stay off
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "email.dispatcher.enabled=false",
+        "workflow.escalation.enabled=false"
+})
+@Transactional
+class TemplateInstantiationTests {
+    private static final int STEPS = 100;
+    private static final int ACTIONS_PER_STEP = 3;
+
+    // header + structure + assignees, then one batch per 50 rows: 1 workflow, 2 step and 6 action batches
+    private static final long FIRST_INSTANTIATION_STATEMENTS = 12;
+
+    @Autowired
+    private WorkflowTemplateService workflowTemplateService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void largeTemplateInstantiatesInBatches() {
+        Organization organization = TestFixtures.createOrganization(entityManager);
+        User designer = TestFixtures.createUser(entityManager, organization, Enums.Role.DESIGNER);
+        List<User> assignees = List.of(
+                TestFixtures.createUser(entityManager, organization, Enums.Role.DESIGNER),
+                TestFixtures.createUser(entityManager, organization, Enums.Role.DESIGNER),
+                TestFixtures.createUser(entityManager, organization, Enums.Role.DESIGNER));
+
+        TemplateDto.Response template = workflowTemplateService.createTemplate(
+                TemplateDto.Request.builder()
+                        .title("Onboarding")
+                        .defaultPriority(Enums.Priority.HIGH)
+                        .structure(structure(assignees))
+                        .build(),
+                designer.getId(),
+                organization.getId());
+
+        resetStatistics();
+        WorkflowDto.Response first = workflowTemplateService.instantiate(
+                template.getId(), new TemplateDto.InstantiateRequest(), designer.getId(), organization.getId());
+        entityManager.flush();
+
+        assertThat(first.getStatus()).isEqualTo(Enums.WorkflowStatus.DRAFT);
+        assertThat(first.getPriority()).isEqualTo(Enums.Priority.HIGH);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(FIRST_INSTANTIATION_STATEMENTS);
+
+        // Second instantiation reuses the parsed structure and skips the JSONB read
+        resetStatistics();
+        workflowTemplateService.instantiate(
+                template.getId(), TemplateDto.InstantiateRequest.builder().title("Second").build(), designer.getId(), organization.getId());
+        entityManager.flush();
+
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(FIRST_INSTANTIATION_STATEMENTS - 1);
+
+        Long actions = entityManager.createQuery("""
+                        SELECT count(a) FROM WorkflowStepAction a
+                        WHERE a.step.workflow.id = :workflowId
+                        """, Long.class)
+                .setParameter("workflowId", first.getId())
+                .getSingleResult();
+        assertThat(actions).isEqualTo((long) STEPS * ACTIONS_PER_STEP);
+    }
+
+    private TemplateStructure structure(List<User> assignees) {
+        List<TemplateStructure.StepTemplate> steps = new ArrayList<>();
+        for (int s = 1; s <= STEPS; s++) {
+            TemplateStructure.StepTemplate step = new TemplateStructure.StepTemplate();
+            step.setName("Step " + s);
+            step.setStepOrder(s);
+            step.setDefaultAssignedUserId(assignees.get(s % assignees.size()).getId());
+
+            for (int a = 1; a <= ACTIONS_PER_STEP; a++) {
+                TemplateStructure.ActionTemplate action = new TemplateStructure.ActionTemplate();
+                action.setName("Action " + a);
+                action.setActionType(Enums.ActionType.REVIEW);
+                action.setActionOrder(a);
+                step.getActions().add(action);
+            }
+            steps.add(step);
+        }
+
+        TemplateStructure structure = new TemplateStructure();
+        structure.setSteps(steps);
+        return structure;
+    }
+
+    private void resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+}
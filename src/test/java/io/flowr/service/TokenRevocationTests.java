@@ -0,0 +1,151 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.config.JwtPrincipal;
+import io.flowr.dto.auth.PasswordDto;
+import io.flowr.entity.User;
+import io.flowr.repository.RefreshTokenRepository;
+import io.flowr.repository.RevokedTokenRepository;
+import io.flowr.repository.UserRepository;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Revoked tokens are refused on the node that revoked them and, after a
+ * refresh, on a second node built over the same database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class TokenRevocationTests {
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        user = transactionTemplate.execute(status -> TestFixtures.createUser(
+                entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF, passwordEncoder.encode(PASSWORD)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, user.getOrganization().getId());
+    }
+
+    @Test
+    void logoutRevokesOnlyThatTokenOnEveryNode() throws Exception {
+        String loggedOut = issueToken();
+        String other = issueToken();
+        TokenRevocationService otherNode = newNode();
+
+        assertThat(me(loggedOut)).isEqualTo(200);
+        assertThat(mockMvc.perform(post("/api/v1/auth/logout").header("Authorization", "Bearer " + loggedOut))
+                .andReturn().getResponse().getStatus()).isEqualTo(200);
+
+        assertThat(me(loggedOut)).isNotEqualTo(200);
+        assertThat(me(other)).isEqualTo(200);
+
+        assertThat(otherNode.isRevoked(jwtService.verifyAuthToken(loggedOut))).isFalse();
+        otherNode.refresh();
+        assertThat(otherNode.isRevoked(jwtService.verifyAuthToken(loggedOut))).isTrue();
+        assertThat(otherNode.isRevoked(jwtService.verifyAuthToken(other))).isFalse();
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokensOnEveryNode() throws Exception {
+        String before = issueToken();
+        TokenRevocationService otherNode = newNode();
+        assertThat(me(before)).isEqualTo(200);
+
+        PasswordDto.ChangeRequest request = new PasswordDto.ChangeRequest();
+        request.setCurrentPassword(PASSWORD);
+        request.setNewPassword("new-password-123");
+        userService.changePassword(request, user.getId());
+        Thread.sleep(2);
+        String after = issueToken();
+
+        assertThat(me(before)).isNotEqualTo(200);
+        assertThat(me(after)).isEqualTo(200);
+
+        otherNode.refresh();
+        JwtPrincipal revoked = jwtService.verifyAuthToken(before);
+        assertThat(otherNode.isRevoked(revoked)).isTrue();
+        assertThat(otherNode.isRevoked(jwtService.verifyAuthToken(after))).isFalse();
+
+        // A node that starts later loads the watermark with everything else
+        assertThat(newNode().isRevoked(revoked)).isTrue();
+    }
+
+    private String issueToken() {
+        return jwtService.generateToken(user.getEmail(), user.getId().toString(), user.getRole().name(),
+                user.getOrganization().getId().toString());
+    }
+
+    /**
+     * 200 when the token authenticates; the endpoint refuses anonymous requests
+     */
+    private int me(String token) throws Exception {
+        return mockMvc.perform(get("/api/v1/users/me").header("Authorization", "Bearer " + token))
+                .andReturn().getResponse().getStatus();
+    }
+
+    private TokenRevocationService newNode() {
+        TokenRevocationService node = new TokenRevocationService(revokedTokenRepository, refreshTokenRepository, userRepository,
+                transactionManager, new SimpleMeterRegistry(), 15, 1000, 0.01, 1000);
+        node.rebuild();
+        return node;
+    }
+}
@@ -0,0 +1,119 @@
+package io.flowr.service;
+
+import io.flowr.dto.auth.LoginDto;
+import io.flowr.dto.auth.PasswordDto;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Statement counts are global, so background jobs stay off
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "email.dispatcher.enabled=false",
+        "workflow.escalation.enabled=false"
+})
+@Transactional
+class UserCacheTests {
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void loginLoadsUserInOneStatementThenHitsCache() {
+        User user = createUser();
+        resetStatistics();
+
+        LoginDto.Response first = authService.login(loginRequest(user.getEmail(), PASSWORD));
+        entityManager.flush();
+
+        // The user select, then the insert of the login's refresh token
+        assertThat(first.getUser().getOrganizationName()).isEqualTo(user.getOrganization().getName());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+
+        resetStatistics();
+        authService.login(loginRequest(user.getEmail(), PASSWORD));
+        entityManager.flush();
+
+        // Only the refresh token insert; the user comes from the cache
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+
+    @Test
+    void changePasswordEvictsCachedUser() {
+        User user = createUser();
+        authService.login(loginRequest(user.getEmail(), PASSWORD));
+
+        userService.changePassword(new PasswordDto.ChangeRequest(PASSWORD, "new-password-456"), user.getId());
+        entityManager.flush();
+
+        assertThatThrownBy(() -> authService.login(loginRequest(user.getEmail(), PASSWORD)))
+                .hasMessage("Invalid email or password");
+        assertThat(authService.login(loginRequest(user.getEmail(), "new-password-456")).getToken()).isNotBlank();
+    }
+
+    private void resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private LoginDto.Request loginRequest(String email, String password) {
+        return new LoginDto.Request(email, password);
+    }
+
+    private User createUser() {
+        Organization organization = Organization.builder()
+                .name("User Cache Org " + UUID.randomUUID())
+                .build();
+        entityManager.persist(organization);
+
+        User user = User.builder()
+                .name("User Cache User")
+                .email(UUID.randomUUID() + "@flowr.test")
+                .passwordHash(passwordEncoder.encode(PASSWORD))
+                .role(Enums.Role.STAFF)
+                .isActive(true)
+                .emailVerified(true)
+                .organization(organization)
+                .build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,133 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts follow inserts and status changes through the triggers, survive the
+ * fold unchanged, and are repaired by reconciliation after they drift.
+ */
+@SpringBootTest
+class WorkflowDashboardTests {
+
+    @Autowired
+    private WorkflowDashboardService workflowDashboardService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private UUID organizationId;
+    private final List<UUID> workflowIds = new ArrayList<>();
+
+    @BeforeEach
+    void createWorkflows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            organizationId = organization.getId();
+
+            User user = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+
+            for (Enums.Priority priority : new Enums.Priority[]{Enums.Priority.MEDIUM, Enums.Priority.HIGH, null}) {
+                Workflow workflow = TestFixtures.createDraftWorkflow(entityManager, user, priority);
+                workflowIds.add(workflow.getId());
+            }
+        });
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void countsFollowWritesAndReconciliationRepairsDrift() throws SQLException {
+        WorkflowDto.Dashboard created = workflowDashboardService.getDashboard(organizationId);
+        assertThat(created.getTotal()).isEqualTo(3);
+        assertThat(created.getByStatus().get(Enums.WorkflowStatus.DRAFT)).isEqualTo(3);
+        assertThat(created.getByPriority().get(Enums.Priority.HIGH)).isEqualTo(1);
+        assertThat(created.getByPriority().get(Enums.Priority.URGENT)).isZero();
+        assertThat(created.getUnprioritized()).isEqualTo(1);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Workflow workflow = entityManager.find(Workflow.class, workflowIds.get(0));
+            workflow.setStatus(Enums.WorkflowStatus.ACTIVE);
+            workflow.setPriority(Enums.Priority.URGENT);
+            // Not a status or priority change, so no delta
+            entityManager.find(Workflow.class, workflowIds.get(1)).setTitle("Renamed");
+        });
+        assertThat(deltaCount()).isEqualTo(5);
+
+        workflowDashboardService.foldDeltas();
+        assertThat(deltaCount()).isZero();
+        WorkflowDto.Dashboard folded = workflowDashboardService.getDashboard(organizationId);
+        assertThat(folded.getTotal()).isEqualTo(3);
+        assertThat(folded.getByStatus().get(Enums.WorkflowStatus.DRAFT)).isEqualTo(2);
+        assertThat(folded.getByStatus().get(Enums.WorkflowStatus.ACTIVE)).isEqualTo(1);
+        assertThat(folded.getByPriority().get(Enums.Priority.MEDIUM)).isZero();
+        assertThat(folded.getByPriority().get(Enums.Priority.URGENT)).isEqualTo(1);
+
+        // Drift the summary behind the triggers' back, plus a delta for a workflow that never existed
+        jdbcTemplate.update("UPDATE workflow_status_counts SET count = count + 5 WHERE organization_id = ? AND status = 'DRAFT' AND priority = 'HIGH'", organizationId);
+        jdbcTemplate.update("INSERT INTO workflow_status_count_deltas (organization_id, status, priority, delta) VALUES (?, 'PAUSED', 'LOW', 1)", organizationId);
+        assertThat(workflowDashboardService.getDashboard(organizationId).getTotal()).isEqualTo(9);
+
+        // Another node holding the lock makes this one skip rather than repeat the repair
+        try (Connection otherNode = dataSource.getConnection()) {
+            lockStatusCounts(otherNode, "pg_advisory_lock");
+            assertThat(workflowDashboardService.reconcile()).isZero();
+            lockStatusCounts(otherNode, "pg_advisory_unlock");
+        }
+
+        assertThat(workflowDashboardService.reconcile()).isGreaterThanOrEqualTo(2);
+        WorkflowDto.Dashboard repaired = workflowDashboardService.getDashboard(organizationId);
+        assertThat(repaired).isEqualTo(folded);
+        assertThat(workflowDashboardService.reconcile()).isZero();
+    }
+
+    private static void lockStatusCounts(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, WorkflowDashboardService.STATUS_COUNTS_LOCK);
+            statement.execute();
+        }
+    }
+
+    private long deltaCount() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM workflow_status_count_deltas WHERE organization_id = ?",
+                Long.class, organizationId);
+    }
+}
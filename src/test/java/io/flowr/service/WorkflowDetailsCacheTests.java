@@ -0,0 +1,173 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.dto.workflow.WorkflowDetailsDto;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.utils.Enums;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads workflow details from several threads while others complete actions,
+ * and checks that every completion is visible to the next read and that the
+ * cache ends up matching the database.
+ */
+@SpringBootTest
+class WorkflowDetailsCacheTests {
+    private static final int ACTIONS = 30;
+    private static final int WRITERS = 3;
+    private static final int READERS = 3;
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @Autowired
+    private WorkflowExecutionService workflowExecutionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private UUID organizationId;
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void detailsStayConsistentUnderConcurrentWrites() throws Exception {
+        Workflow workflow = createWorkflow();
+        UUID workflowId = workflow.getId();
+        UUID stepId = workflow.getSteps().get(0).getId();
+        UUID assigneeId = workflow.getSteps().get(0).getAssignedTo().getId();
+        List<UUID> actionIds = new ArrayList<>(workflow.getSteps().get(0).getStepActions().stream().map(WorkflowStepAction::getId).toList());
+        Collections.shuffle(actionIds);
+
+        workflowExecutionService.startWorkflow(workflowId, workflow.getInitiatedBy().getId(), organizationId);
+        assertThat(workflowService.getWorkflowDetails(workflowId, organizationId).getStatus()).isEqualTo(Enums.WorkflowStatus.ACTIVE);
+        double hitsBefore = cacheHits();
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < READERS; r++) {
+                readers.add(executor.submit(() -> {
+                    while (writing.get()) {
+                        assertThat(workflowService.getWorkflowDetails(workflowId, organizationId).getSteps()).hasSize(2);
+                    }
+                }));
+            }
+
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                List<UUID> share = actionIds.subList(w * ACTIONS / WRITERS, (w + 1) * ACTIONS / WRITERS);
+                writers.add(executor.submit(() -> {
+                    for (UUID actionId : share) {
+                        workflowExecutionService.completeAction(workflowId, stepId, actionId, assigneeId, organizationId);
+                        // A committed change is visible to the very next read on this node
+                        assertThat(actionStatus(workflowService.getWorkflowDetails(workflowId, organizationId), actionId))
+                                .isEqualTo(Enums.ActionStatus.COMPLETED);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            writing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            writing.set(false);
+            executor.shutdownNow();
+        }
+
+        WorkflowDetailsDto.Response details = workflowService.getWorkflowDetails(workflowId, organizationId);
+        WorkflowDetailsDto.StepDetails first = details.getSteps().get(0);
+        assertThat(first.getStatus()).isEqualTo(Enums.StepStatus.COMPLETED);
+        assertThat(first.getActions()).allSatisfy(action -> assertThat(action.getStatus()).isEqualTo(Enums.ActionStatus.COMPLETED));
+        assertThat(first.getIsCurrentStep()).isFalse();
+        assertThat(details.getSteps().get(1).getIsCurrentStep()).isTrue();
+        assertThat(details.getSteps().get(1).getStatus()).isEqualTo(Enums.StepStatus.IN_PROGRESS);
+        assertThat(cacheHits()).isGreaterThan(hitsBefore);
+    }
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "workflowDetails").tag("result", "hit").functionCounter().count();
+    }
+
+    private static Enums.ActionStatus actionStatus(WorkflowDetailsDto.Response details, UUID actionId) {
+        return details.getSteps().stream()
+                .flatMap(step -> step.getActions().stream())
+                .filter(action -> action.getId().equals(actionId))
+                .findFirst()
+                .orElseThrow()
+                .getStatus();
+    }
+
+    private Workflow createWorkflow() {
+        return transactionTemplate.execute(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            organizationId = organization.getId();
+
+            User user = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+
+            Workflow workflow = TestFixtures.createDraftWorkflow(entityManager, user, Enums.Priority.MEDIUM);
+
+            for (int stepOrder = 1; stepOrder <= 2; stepOrder++) {
+                WorkflowStep step = WorkflowStep.builder()
+                        .name("Step " + stepOrder)
+                        .stepOrder(stepOrder)
+                        .status(Enums.StepStatus.PENDING)
+                        .assignedTo(user)
+                        .workflow(workflow)
+                        .build();
+                entityManager.persist(step);
+                workflow.getSteps().add(step);
+
+                for (int actionOrder = 1; actionOrder <= ACTIONS; actionOrder++) {
+                    WorkflowStepAction action = WorkflowStepAction.builder()
+                            .name("Action " + actionOrder)
+                            .actionType(Enums.ActionType.REVIEW)
+                            .actionOrder(actionOrder)
+                            .step(step)
+                            .build();
+                    entityManager.persist(action);
+                    step.getStepActions().add(action);
+                }
+            }
+            return workflow;
+        });
+    }
+}
@@ -0,0 +1,171 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Runs the escalation job from several threads at once, as several nodes
+ * would, and checks every overdue workflow and step is escalated exactly once.
+ */
+@SpringBootTest(properties = {
+        "workflow.escalation.enabled=true",
+        "workflow.escalation.batch-size=20",
+        "workflow.escalation.interval-ms=3600000"
+})
+class WorkflowEscalationTests {
+    private static final int OVERDUE_WORKFLOWS = 250;
+    private static final int NODES = 4;
+
+    @Autowired
+    private WorkflowEscalationService workflowEscalationService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WorkflowDetailsCache workflowDetailsCache;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private UUID organizationId;
+    private UUID firstOverdueId;
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void concurrentRunsEscalateEachOverdueItemOnce() throws Exception {
+        String prefix = "Escalation " + UUID.randomUUID() + " ";
+        createWorkflows(prefix);
+        workflowDetailsCache.get(firstOverdueId, () -> details("before"));
+
+        Map<String, Integer> workflowNotifications = new ConcurrentHashMap<>();
+        Map<String, Integer> stepNotifications = new ConcurrentHashMap<>();
+        doAnswer(invocation -> workflowNotifications.merge(invocation.getArgument(1), 1, Integer::sum))
+                .when(emailService).sendWorkflowOverdueNotification(anyString(), anyString(), any());
+        doAnswer(invocation -> stepNotifications.merge(invocation.getArgument(1), 1, Integer::sum))
+                .when(emailService).sendStepOverdueNotification(anyString(), anyString(), anyString(), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(NODES);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int node = 0; node < NODES; node++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    workflowEscalationService.escalateOverdue();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Only active workflows are overdue: even ones are ACTIVE and past due, odd ones COMPLETED or not yet due
+        int expected = OVERDUE_WORKFLOWS / 2;
+        assertThat(workflowNotifications.keySet().stream().filter(title -> title.startsWith(prefix))).hasSize(expected);
+        assertThat(workflowNotifications.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .allMatch(entry -> entry.getValue() == 1)).isTrue();
+        assertThat(stepNotifications.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToInt(Map.Entry::getValue)
+                .sum()).isEqualTo(expected);
+
+        Map<String, Object> marked = jdbcTemplate.queryForMap("""
+                SELECT count(*) FILTER (WHERE escalated_at IS NOT NULL AND status = 'ACTIVE') AS escalated,
+                       count(*) FILTER (WHERE escalated_at IS NOT NULL AND status <> 'ACTIVE') AS wrongly_escalated
+                FROM workflows WHERE organization_id = ?
+                """, organizationId);
+        assertThat(marked.get("escalated")).isEqualTo((long) expected);
+        assertThat(marked.get("wrongly_escalated")).isEqualTo(0L);
+        // The bulk mark still drops cached details
+        assertThat(workflowDetailsCache.get(firstOverdueId, () -> details("after")).etag()).isEqualTo("after");
+
+        // A second run finds nothing left to escalate
+        workflowEscalationService.escalateOverdue();
+        assertThat(workflowNotifications.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .mapToInt(Map.Entry::getValue)
+                .sum()).isEqualTo(expected);
+    }
+
+    private void createWorkflows(String prefix) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            organizationId = organization.getId();
+            User initiator = TestFixtures.createUser(entityManager, organization, Enums.Role.DESIGNER);
+
+            LocalDateTime now = LocalDateTime.now();
+            for (int w = 0; w < OVERDUE_WORKFLOWS; w++) {
+                boolean overdue = w % 2 == 0;
+                Workflow workflow = Workflow.builder()
+                        .title(prefix + w)
+                        .status(overdue || w % 4 == 1 ? Enums.WorkflowStatus.ACTIVE : Enums.WorkflowStatus.COMPLETED)
+                        .priority(Enums.Priority.MEDIUM)
+                        .dueAt(overdue || w % 4 == 3 ? now.minusHours(w + 1) : now.plusDays(1))
+                        .organization(organization)
+                        .initiatedBy(initiator)
+                        .build();
+                entityManager.persist(workflow);
+                if (w == 0) {
+                    firstOverdueId = workflow.getId();
+                }
+
+                WorkflowStep step = WorkflowStep.builder()
+                        .name("Review")
+                        .stepOrder(1)
+                        .status(overdue ? Enums.StepStatus.IN_PROGRESS : Enums.StepStatus.PENDING)
+                        .dueAt(now.minusMinutes(w + 1))
+                        .workflow(workflow)
+                        .build();
+                entityManager.persist(step);
+            }
+        });
+    }
+
+    private WorkflowDetailsCache.CachedDetails details(String etag) {
+        return new WorkflowDetailsCache.CachedDetails(organizationId, etag, null);
+    }
+}
@@ -0,0 +1,237 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowChangedEvent;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Completes thousands of actions from parallel threads and checks that every
+ * step and workflow ends up completed exactly as the sequential rules say.
+ * Not @Transactional: each transition has to commit for conflicts to happen.
+ */
+@SpringBootTest
+class WorkflowExecutionConcurrencyTests {
+    private static final int WORKFLOWS = 10;
+    private static final int STEPS = 4;
+    private static final int ACTIONS_PER_STEP = 50;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private WorkflowExecutionService workflowExecutionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventMulticaster eventMulticaster;
+
+    private UUID organizationId;
+
+    record ActionRef(UUID workflowId, UUID stepId, UUID actionId, UUID assigneeId, boolean optional) {
+    }
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void concurrentActionCompletionsLeaveConsistentState() throws Exception {
+        List<List<ActionRef>> actionsByStepOrder = createWorkflows();
+
+        List<Map<String, Object>> drafts = jdbcTemplate.queryForList(
+                "SELECT id, initiated_by FROM workflows WHERE organization_id = ?", organizationId);
+        for (Map<String, Object> draft : drafts) {
+            workflowExecutionService.startWorkflow((UUID) draft.get("id"), (UUID) draft.get("initiated_by"), organizationId);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            // Steps open one after another, so each round completes one step of every workflow at once
+            for (List<ActionRef> round : actionsByStepOrder) {
+                List<ActionRef> shuffled = new ArrayList<>(round);
+                Collections.shuffle(shuffled);
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (ActionRef ref : shuffled) {
+                    futures.add(executor.submit(() -> ref.optional()
+                            ? workflowExecutionService.skipAction(ref.workflowId(), ref.stepId(), ref.actionId(), ref.assigneeId(), organizationId)
+                            : workflowExecutionService.completeAction(ref.workflowId(), ref.stepId(), ref.actionId(), ref.assigneeId(), organizationId)));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Map<String, Object> workflows = jdbcTemplate.queryForMap("""
+                SELECT count(*) FILTER (WHERE status = 'COMPLETED' AND current_step_id IS NULL AND completed_at IS NOT NULL) AS completed,
+                       count(*) AS total
+                FROM workflows WHERE organization_id = ?
+                """, organizationId);
+        assertThat(workflows.get("completed")).isEqualTo((long) WORKFLOWS);
+        assertThat(workflows.get("total")).isEqualTo((long) WORKFLOWS);
+
+        Long incompleteSteps = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM workflow_steps s JOIN workflows w ON w.id = s.workflow_id
+                WHERE w.organization_id = ? AND (s.status <> 'COMPLETED' OR s.completed_at IS NULL)
+                """, Long.class, organizationId);
+        assertThat(incompleteSteps).isZero();
+
+        // Each step is written exactly twice, opened and completed, however many actions finish at once
+        Long rewrittenSteps = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM workflow_steps s JOIN workflows w ON w.id = s.workflow_id
+                WHERE w.organization_id = ? AND s.version <> 2
+                """, Long.class, organizationId);
+        assertThat(rewrittenSteps).isZero();
+
+        Map<String, Object> actions = jdbcTemplate.queryForMap("""
+                SELECT count(*) FILTER (WHERE a.status = 'COMPLETED' AND NOT a.is_optional) AS completed,
+                       count(*) FILTER (WHERE a.status = 'SKIPPED' AND a.is_optional) AS skipped
+                FROM workflow_step_actions a
+                JOIN workflow_steps s ON s.id = a.step_id
+                JOIN workflows w ON w.id = s.workflow_id
+                WHERE w.organization_id = ?
+                """, organizationId);
+        long total = (long) WORKFLOWS * STEPS * ACTIONS_PER_STEP;
+        long optional = total / 10;
+        assertThat(actions.get("completed")).isEqualTo(total - optional);
+        assertThat(actions.get("skipped")).isEqualTo(optional);
+
+        // Steps of a workflow complete in order
+        Long outOfOrder = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM workflow_steps s
+                JOIN workflow_steps n ON n.workflow_id = s.workflow_id AND n.step_order = s.step_order + 1
+                JOIN workflows w ON w.id = s.workflow_id
+                WHERE w.organization_id = ? AND n.completed_at < s.completed_at
+                """, Long.class, organizationId);
+        assertThat(outOfOrder).isZero();
+    }
+
+    @Test
+    void failedStepCompletionRollsBackTheAction() {
+        List<ActionRef> actions = createWorkflows(1, 1, 2).get(0);
+        ActionRef first = actions.get(0);
+        ActionRef last = actions.get(1);
+        UUID initiatorId = jdbcTemplate.queryForObject("SELECT initiated_by FROM workflows WHERE id = ?", UUID.class, first.workflowId());
+        workflowExecutionService.startWorkflow(first.workflowId(), initiatorId, organizationId);
+        workflowExecutionService.completeAction(first.workflowId(), first.stepId(), first.actionId(), first.assigneeId(), organizationId);
+
+        // Fails while advancing, after the action and the step are written
+        AtomicBoolean failing = new AtomicBoolean(true);
+        ApplicationListener<PayloadApplicationEvent<WorkflowChangedEvent>> failure = ApplicationListener.forPayload(event -> {
+            if (failing.get() && event.kind() == Enums.WorkflowChangeKind.STEP) {
+                throw new IllegalStateException("Injected failure");
+            }
+        });
+        eventMulticaster.addApplicationListener(failure);
+        try {
+            assertThatThrownBy(() -> workflowExecutionService.completeAction(
+                    last.workflowId(), last.stepId(), last.actionId(), last.assigneeId(), organizationId))
+                    .hasMessage("Injected failure");
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM workflow_step_actions WHERE id = ?", String.class, last.actionId()))
+                    .isEqualTo("PENDING");
+            assertThat(jdbcTemplate.queryForObject("SELECT status FROM workflow_steps WHERE id = ?", String.class, last.stepId()))
+                    .isEqualTo("IN_PROGRESS");
+
+            // Nothing was half done, so the retry finishes the step and the workflow
+            failing.set(false);
+            assertThat(workflowExecutionService.completeAction(
+                    last.workflowId(), last.stepId(), last.actionId(), last.assigneeId(), organizationId).getStatus())
+                    .isEqualTo(Enums.WorkflowStatus.COMPLETED);
+        } finally {
+            eventMulticaster.removeApplicationListener(failure);
+        }
+    }
+
+    private List<List<ActionRef>> createWorkflows() {
+        return createWorkflows(WORKFLOWS, STEPS, ACTIONS_PER_STEP);
+    }
+
+    private List<List<ActionRef>> createWorkflows(int workflows, int steps, int actionsPerStep) {
+        return transactionTemplate.execute(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            organizationId = organization.getId();
+
+            List<List<ActionRef>> actionsByStepOrder = new ArrayList<>();
+            for (int stepOrder = 0; stepOrder < steps; stepOrder++) {
+                actionsByStepOrder.add(new ArrayList<>());
+            }
+
+            int actionCounter = 0;
+            for (int w = 0; w < workflows; w++) {
+                User initiator = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+                Workflow workflow = Workflow.builder()
+                        .title("Concurrent workflow " + w)
+                        .status(Enums.WorkflowStatus.DRAFT)
+                        .priority(Enums.Priority.MEDIUM)
+                        .organization(organization)
+                        .initiatedBy(initiator)
+                        .build();
+                entityManager.persist(workflow);
+
+                for (int stepOrder = 0; stepOrder < steps; stepOrder++) {
+                    User assignee = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+                    WorkflowStep step = WorkflowStep.builder()
+                            .name("Step " + stepOrder)
+                            .stepOrder(stepOrder + 1)
+                            .status(Enums.StepStatus.PENDING)
+                            .assignedTo(assignee)
+                            .workflow(workflow)
+                            .build();
+                    entityManager.persist(step);
+
+                    for (int a = 0; a < actionsPerStep; a++) {
+                        boolean optional = actionCounter++ % 10 == 0;
+                        WorkflowStepAction action = WorkflowStepAction.builder()
+                                .name("Action " + a)
+                                .actionType(Enums.ActionType.REVIEW)
+                                .actionOrder(a + 1)
+                                .isOptional(optional)
+                                .step(step)
+                                .build();
+                        entityManager.persist(action);
+                        actionsByStepOrder.get(stepOrder).add(new ActionRef(workflow.getId(), step.getId(), action.getId(), assignee.getId(), optional));
+                    }
+                }
+            }
+            return actionsByStepOrder;
+        });
+    }
+}
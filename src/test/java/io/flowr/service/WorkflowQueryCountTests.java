@@ -0,0 +1,203 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.dto.workflow.WorkflowDetailsDto;
+import io.flowr.dto.workflow.WorkflowDto;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Statement counts are global, so background jobs stay off
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "email.dispatcher.enabled=false",
+        "workflow.escalation.enabled=false"
+})
+@Transactional
+class WorkflowQueryCountTests {
+    private static final long DETAILS_STATEMENT_BOUND = 2;
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void workflowListIsLoadedInOneStatement() {
+        User user = TestFixtures.createUser(entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF);
+
+        for (int i = 0; i < 25; i++) {
+            Workflow workflow = createWorkflow(user, "Workflow " + i);
+            WorkflowStep step = createStep(workflow, user, 1);
+            workflow.setCurrentStep(step);
+        }
+
+        resetStatistics();
+
+        List<WorkflowDto.Response> workflows = workflowService.getWorkflowsByUserInvolvement(user.getId());
+
+        assertThat(workflows).hasSize(25);
+        assertThat(workflows).allSatisfy(workflow -> {
+            assertThat(workflow.getCurrentStep()).isNotNull();
+            assertThat(workflow.getInitiatedBy().getEmail()).isEqualTo(user.getEmail());
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void workflowPagesAreLoadedInOneStatementEach() {
+        User user = TestFixtures.createUser(entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF);
+
+        for (int i = 0; i < 25; i++) {
+            Workflow workflow = createWorkflow(user, "Workflow " + i);
+            workflow.setCurrentStep(createStep(workflow, user, 1));
+        }
+
+        resetStatistics();
+
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            WorkflowDto.CursorPage page = workflowService.getWorkflowsByUserInvolvement(user.getId(), cursor, 10, null, null);
+            page.getItems().forEach(workflow -> assertThat(seen.add(workflow.getId())).isTrue());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(25);
+        assertThat(pages).isEqualTo(3);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void assignedWorkflowPagesCountEachWorkflowOnce() {
+        User initiator = TestFixtures.createUser(entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF);
+        User assignee = TestFixtures.createUser(entityManager, initiator.getOrganization(), Enums.Role.STAFF);
+
+        for (int i = 0; i < 12; i++) {
+            Workflow workflow = createWorkflow(initiator, "Workflow " + i);
+            workflow.setPriority(i % 3 == 0 ? Enums.Priority.HIGH : Enums.Priority.MEDIUM);
+            workflow.setCurrentStep(createStep(workflow, assignee, 1));
+            createStep(workflow, assignee, 2);
+        }
+
+        resetStatistics();
+
+        assertThat(readAllPages(assignee, 5, null)).hasSize(12);
+        assertThat(readAllPages(assignee, 2, Enums.Priority.HIGH)).hasSize(4);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3 + 2);
+    }
+
+    @Test
+    void workflowDetailsAreLoadedInBoundedStatements() {
+        User user = TestFixtures.createUser(entityManager, TestFixtures.createOrganization(entityManager), Enums.Role.STAFF);
+        Workflow workflow = createWorkflow(user, "Large workflow");
+
+        for (int stepOrder = 1; stepOrder <= 50; stepOrder++) {
+            WorkflowStep step = createStep(workflow, user, stepOrder);
+            for (int actionOrder = 1; actionOrder <= 10; actionOrder++) {
+                createAction(step, actionOrder);
+            }
+        }
+        workflow.setCurrentStep(workflow.getSteps().get(0));
+
+        resetStatistics();
+
+        WorkflowDetailsDto.Response details = workflowService.getWorkflowDetails(workflow.getId(), user.getOrganization().getId());
+
+        assertThat(details.getSteps()).hasSize(50);
+        assertThat(details.getSteps()).allSatisfy(step -> {
+            assertThat(step.getActions()).hasSize(10);
+            assertThat(step.getAssignedTo().getEmail()).isEqualTo(user.getEmail());
+        });
+        assertThat(details.getSteps().get(0).getIsCurrentStep()).isTrue();
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(DETAILS_STATEMENT_BOUND);
+    }
+
+    private Set<UUID> readAllPages(User user, int limit, Enums.Priority priority) {
+        Set<UUID> seen = new HashSet<>();
+        String cursor = null;
+        do {
+            WorkflowDto.CursorPage page = workflowService.getWorkflowsByUserInvolvement(user.getId(), cursor, limit, null, priority);
+            page.getItems().forEach(workflow -> assertThat(seen.add(workflow.getId())).isTrue());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private void resetStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    private Workflow createWorkflow(User initiator, String title) {
+        Workflow workflow = Workflow.builder()
+                .title(title)
+                .status(Enums.WorkflowStatus.ACTIVE)
+                .priority(Enums.Priority.MEDIUM)
+                .startedAt(LocalDateTime.now())
+                .organization(initiator.getOrganization())
+                .initiatedBy(initiator)
+                .build();
+        entityManager.persist(workflow);
+        return workflow;
+    }
+
+    private WorkflowStep createStep(Workflow workflow, User assignee, int stepOrder) {
+        WorkflowStep step = WorkflowStep.builder()
+                .name("Step " + stepOrder)
+                .stepOrder(stepOrder)
+                .status(Enums.StepStatus.PENDING)
+                .assignedTo(assignee)
+                .workflow(workflow)
+                .build();
+        entityManager.persist(step);
+        workflow.getSteps().add(step);
+        return step;
+    }
+
+    private WorkflowStepAction createAction(WorkflowStep step, int actionOrder) {
+        WorkflowStepAction action = WorkflowStepAction.builder()
+                .name("Action " + actionOrder)
+                .actionType(Enums.ActionType.REVIEW)
+                .actionOrder(actionOrder)
+                .step(step)
+                .build();
+        entityManager.persist(action);
+        step.getStepActions().add(action);
+        return action;
+    }
+}
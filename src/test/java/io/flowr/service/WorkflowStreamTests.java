@@ -0,0 +1,170 @@
+package io.flowr.service;
+
+import io.flowr.TestFixtures;
+import io.flowr.entity.Organization;
+import io.flowr.entity.User;
+import io.flowr.entity.Workflow;
+import io.flowr.entity.WorkflowStep;
+import io.flowr.entity.WorkflowStepAction;
+import io.flowr.utils.Enums;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Opens real SSE connections and checks that committed changes reach the
+ * users involved in the workflow, and nobody else.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class WorkflowStreamTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private WorkflowExecutionService workflowExecutionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private UUID organizationId;
+
+    @AfterEach
+    void cleanUp() {
+        TestFixtures.deleteOrganization(jdbcTemplate, organizationId);
+    }
+
+    @Test
+    void committedChangesReachInvolvedUsersOnly() throws Exception {
+        List<Object> created = transactionTemplate.execute(status -> {
+            Organization organization = TestFixtures.createOrganization(entityManager);
+            organizationId = organization.getId();
+
+            User involved = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+            User bystander = TestFixtures.createUser(entityManager, organization, Enums.Role.STAFF);
+            Workflow workflow = Workflow.builder()
+                    .title("Streamed workflow")
+                    .status(Enums.WorkflowStatus.DRAFT)
+                    .priority(Enums.Priority.MEDIUM)
+                    .organization(organization)
+                    .initiatedBy(involved)
+                    .build();
+            entityManager.persist(workflow);
+            WorkflowStep step = WorkflowStep.builder()
+                    .name("Review")
+                    .stepOrder(1)
+                    .status(Enums.StepStatus.PENDING)
+                    .assignedTo(involved)
+                    .workflow(workflow)
+                    .build();
+            entityManager.persist(step);
+            WorkflowStepAction action = WorkflowStepAction.builder()
+                    .name("Approve")
+                    .actionType(Enums.ActionType.REVIEW)
+                    .actionOrder(1)
+                    .step(step)
+                    .build();
+            entityManager.persist(action);
+            return List.of(involved, bystander, workflow, step, action);
+        });
+        User involved = (User) created.get(0);
+        User bystander = (User) created.get(1);
+        Workflow workflow = (Workflow) created.get(2);
+        WorkflowStep step = (WorkflowStep) created.get(3);
+        WorkflowStepAction action = (WorkflowStepAction) created.get(4);
+
+        BlockingQueue<String> involvedLines = open(involved);
+        BlockingQueue<String> bystanderLines = open(bystander);
+
+        // A rolled back change is never pushed
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.find(Workflow.class, workflow.getId()).setTitle("Rolled back");
+            entityManager.flush();
+            status.setRollbackOnly();
+        });
+
+        workflowExecutionService.startWorkflow(workflow.getId(), involved.getId(), organizationId);
+        workflowExecutionService.completeAction(workflow.getId(), step.getId(), action.getId(), involved.getId(), organizationId);
+
+        String first = nextEvent(involvedLines);
+        assertThat(first).contains("\"kind\":\"WORKFLOW\"").contains("\"status\":\"ACTIVE\"");
+        String actionEvent = null;
+        for (int i = 0; i < 10 && actionEvent == null; i++) {
+            String event = nextEvent(involvedLines);
+            if (event.contains(action.getId().toString())) {
+                actionEvent = event;
+            }
+        }
+        assertThat(actionEvent).contains("\"kind\":\"ACTION\"").contains("\"status\":\"COMPLETED\"");
+
+        assertThat(bystanderLines.poll(500, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    /**
+     * Opens a stream for the user and waits until it is registered; returns its lines as they arrive
+     */
+    private BlockingQueue<String> open(User user) throws Exception {
+        String token = jwtService.generateToken(user.getEmail(), user.getId().toString(), user.getRole().name(),
+                organizationId.toString());
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/workflows/stream"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> response = client.send(request, HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        Thread reader = new Thread(() -> response.body().filter(line -> !line.isEmpty()).forEach(lines::add));
+        reader.setDaemon(true);
+        reader.start();
+
+        assertThat(lines.poll(10, TimeUnit.SECONDS)).isEqualTo(":heartbeat");
+        return lines;
+    }
+
+    /**
+     * Data line of the next "workflow" event, skipping heartbeats
+     */
+    private static String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("next stream line").isNotNull();
+            if (line.equals("event:workflow")) {
+                return lines.poll(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}